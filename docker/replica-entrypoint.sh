@@ -0,0 +1,13 @@
+#!/bin/bash
+# Clones the primary on first start, then runs as a hot standby.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_basebackup -h postgres -U replicator -D "$PGDATA" -R -X stream -P; do
+        echo "Waiting for primary..."
+        sleep 2
+    done
+    chmod 0700 "$PGDATA"
+fi
+
+exec postgres
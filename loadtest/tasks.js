@@ -0,0 +1,60 @@
+// k6 load test for the task endpoints.
+// Run against a local instance, once with VIRTUAL_THREADS=false and once with the default (true).
+// Start the app with the loadtest profile, otherwise the rate limiter rejects setup and caps throughput:
+//   SPRING_PROFILES_ACTIVE=loadtest ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 loadtest/tasks.js
+// k6 prints p(50)/p(99) latency and request throughput in its end-of-test summary.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '50');
+
+export const options = {
+  scenarios: {
+    burst: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '20s', target: parseInt(__ENV.VUS || '400') },
+        { duration: '60s', target: parseInt(__ENV.VUS || '400') },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const headers = { 'Content-Type': 'application/json' };
+  const tokens = [];
+  for (let i = 0; i < USERS; i++) {
+    const credentials = { email: `load-${i}@example.com`, password: 'load-test' };
+    let res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify(credentials), { headers });
+    if (res.status !== 200) {
+      res = http.post(`${BASE_URL}/api/auth/register`,
+          JSON.stringify({ ...credentials, firstName: 'Load', lastName: `${i}` }), { headers });
+    }
+    if (res.status !== 200) {
+      throw new Error(`could not log in load-${i}: HTTP ${res.status} (is the loadtest profile active?)`);
+    }
+    const token = res.json('token');
+    const auth = { headers: { ...headers, Authorization: `Bearer ${token}` } };
+    const category = http.post(`${BASE_URL}/api/category`,
+        JSON.stringify({ name: `load-${i}-${Date.now()}`, description: 'load test' }), auth).json('id');
+    const batch = [];
+    for (let j = 0; j < 100; j++) {
+      batch.push({ title: `task ${j}`, description: 'load test', status: 'TODO', categoryId: category });
+    }
+    http.post(`${BASE_URL}/api/tasks/batch`, JSON.stringify(batch), auth);
+    tokens.push(token);
+  }
+  return { tokens };
+}
+
+export default function (data) {
+  const token = data.tokens[__VU % data.tokens.length];
+  const params = { headers: { Authorization: `Bearer ${token}` } };
+  const res = http.get(`${BASE_URL}/api/tasks/paged?page=0&size=20`, params);
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
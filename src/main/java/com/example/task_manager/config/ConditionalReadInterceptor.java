@@ -0,0 +1,65 @@
+package com.example.task_manager.config;
+
+import com.example.task_manager.security.CurrentUserProvider;
+import com.example.task_manager.service.UserRevisionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Answers GETs on the user's own tasks and categories with a strong ETag derived from
+ * the user's data revision, and with 304 when the client's copy is current. The check
+ * runs before the handler, so a 304 costs one primary-key lookup and nothing else.
+ * The revision and the body are read from the same database (see
+ * {@link ReplicaRoutingDataSource#pinReads()}); replicas only move forward, so the body
+ * is never older than the revision in its ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalReadInterceptor implements HandlerInterceptor {
+
+    private final UserRevisionService userRevisionService;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        ReplicaRoutingDataSource.pinReads();
+        boolean proceed = false;
+        try {
+            long revision = userRevisionService.current();
+            String etag = "\"" + revision + "-" + representationHash(request) + "\"";
+
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            proceed = !new ServletWebRequest(request, response).checkNotModified(etag);
+            return proceed;
+        } finally {
+            // afterCompletion is only called when preHandle lets the request through
+            if (!proceed) {
+                ReplicaRoutingDataSource.unpinReads();
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.unpinReads();
+    }
+
+    // the same revision yields different bodies for different URLs and users
+    private String representationHash(HttpServletRequest request) {
+        String key = currentUserProvider.getUserId() + " " + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "")
+                + " " + request.getHeader(HttpHeaders.ACCEPT);
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.task_manager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica for its replay lag. While the lag is above the limit, or the
+ * replica cannot be reached, {@link ReplicaRoutingDataSource} sends reads to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // zero when everything received has been replayed, so an idle primary does not look like lag
+    private static final String LAG_QUERY = """
+            select case
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean healthy = false;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(2);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        boolean wasHealthy = healthy;
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            healthy = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (RuntimeException e) {
+            lagSeconds = Double.NaN;
+            healthy = false;
+        }
+        if (wasHealthy != healthy) {
+            log.warn("Read replica {} (lag {}s)", healthy ? "back in rotation" : "taken out of rotation", lagSeconds);
+        }
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
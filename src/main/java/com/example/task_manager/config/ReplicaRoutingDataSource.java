@@ -0,0 +1,116 @@
+package com.example.task_manager.config;
+
+import com.example.task_manager.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * A user who has just written keeps reading from the primary for a short window,
+ * so they always see their own changes. Must sit behind a LazyConnectionDataSourceProxy
+ * so the read-only flag is known when the connection is picked.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    // read target chosen for the current request, see pinReads()
+    private static final ThreadLocal<Target[]> PINNED_READS = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Cache<Long, Boolean> recentWriters;
+    private final Counter replicaReads;
+    private final Counter lagFallbacks;
+    private final Counter readYourWritesFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    DataSource replica,
+                                    ReplicaLagMonitor lagMonitor,
+                                    Duration readYourWritesWindow,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.replicaReads = Counter.builder("datasource.replica.reads").register(meterRegistry);
+        this.lagFallbacks = Counter.builder("datasource.replica.fallback")
+                .tag("reason", "lag")
+                .register(meterRegistry);
+        this.readYourWritesFallbacks = Counter.builder("datasource.replica.fallback")
+                .tag("reason", "read_your_writes")
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            return Target.PRIMARY;
+        }
+        Target[] pinned = PINNED_READS.get();
+        if (pinned != null && pinned[0] != null) {
+            return pinned[0];
+        }
+        Target target = readTarget(userId);
+        if (pinned != null) {
+            pinned[0] = target;
+        }
+        return target;
+    }
+
+    /**
+     * Makes every read-only transaction of the current request go to the same database
+     * as the first one, until {@link #unpinReads()}. Without it, a revision read from the
+     * primary could stamp an ETag on a body read moments later from a lagging replica.
+     */
+    public static void pinReads() {
+        PINNED_READS.set(new Target[1]);
+    }
+
+    public static void unpinReads() {
+        PINNED_READS.remove();
+    }
+
+    private Target readTarget(Long userId) {
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            readYourWritesFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isHealthy()) {
+            lagFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.task_manager.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Reset and read
+ * by {@link RequestMetricsFilter} around each request.
+ */
+@Component
+public class RequestQueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public int current() {
+        return COUNT.get()[0];
+    }
+
+    public void clear() {
+        COUNT.remove();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.task_manager.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks on startup that the indexes the task/category queries rely on are present.
+ * They are created by the Flyway migrations in db/migration.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "idx_task_user_id",
+            "idx_task_user_status",
+            "idx_task_user_created_at",
+            "idx_task_user_updated_at",
+            "idx_task_category",
+            "idx_category_user",
+            "idx_task_user_revision",
+            "idx_task_search",
+            "idx_users_email_pattern"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${schema.indexes.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<String> missing = new HashSet<>(EXPECTED_INDEXES);
+        missing.removeAll(jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where schemaname = current_schema()", String.class));
+
+        if (missing.isEmpty()) {
+            log.info("All {} expected indexes are present", EXPECTED_INDEXES.size());
+            return;
+        }
+        if (failOnMissing) {
+            throw new IllegalStateException("Missing database indexes: " + missing);
+        }
+        log.warn("Missing database indexes: {}", missing);
+    }
+}
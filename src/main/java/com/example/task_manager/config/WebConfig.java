@@ -0,0 +1,21 @@
+package com.example.task_manager.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalReadInterceptor conditionalReadInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalReadInterceptor)
+                .addPathPatterns("/api/tasks", "/api/tasks/**", "/api/category", "/api/category/**")
+                // a single task carries its own version ETag, see TaskController.getTaskById
+                .excludePathPatterns("/api/tasks/export", "/api/tasks/stream", "/api/tasks/{id:[0-9]+}");
+    }
+}
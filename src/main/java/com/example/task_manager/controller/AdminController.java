@@ -1,33 +1,54 @@
 package com.example.task_manager.controller;
 
-import com.example.task_manager.dto.UserResponse;
-import com.example.task_manager.entity.User;
-import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.dto.TaskCounterDrift;
+import com.example.task_manager.dto.UserPage;
+import com.example.task_manager.service.AdminUserService;
+import com.example.task_manager.service.TaskCounterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final UserRepository userRepository;
+    private final AdminUserService adminUserService;
+    private final TaskCounterService taskCounterService;
 
     @GetMapping("/users")
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> UserResponse.builder()
-                        .id(user.getId())
-                        .firstName(user.getFirstName())
-                        .lastName(user.getLastName())
-                        .email(user.getEmail())
-                        .role(user.getRole().name())
-                        .build())
-                .collect(Collectors.toList());
+    public UserPage getUsers(@RequestParam(required = false) String email,
+                             @RequestParam(required = false) String cursor,
+                             @RequestParam(defaultValue = "50") int size,
+                             @RequestParam(defaultValue = "false") boolean taskCounts) {
+        return adminUserService.getUsers(email, cursor, size, taskCounts);
+    }
+
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String email,
+                                                             @RequestParam(defaultValue = "false") boolean taskCounts) {
+        return ResponseEntity.ok()
+                .contentType(new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .body(adminUserService.export(email, taskCounts));
+    }
+
+    @GetMapping("/task-counters/drift")
+    public List<TaskCounterDrift> getTaskCounterDrift() {
+        return taskCounterService.findDrift();
+    }
+
+    @PostMapping("/task-counters/repair")
+    public List<TaskCounterDrift> repairTaskCounters() {
+        return taskCounterService.repairDrift();
     }
 }
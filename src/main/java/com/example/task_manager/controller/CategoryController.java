@@ -30,7 +30,7 @@ public class CategoryController {
     }
 
     @DeleteMapping("/{id}")
-    public void deleteCategory(@PathVariable Long id) {
-        categoryService.deleteCategory(id);
+    public void deleteCategory(@PathVariable Long id, @RequestParam(required = false) Long reassignTo) {
+        categoryService.deleteCategory(id, reassignTo);
     }
 }
@@ -1,18 +1,37 @@
 package com.example.task_manager.controller;
 
+import com.example.task_manager.dto.AuditEventResponse;
+import com.example.task_manager.dto.BatchResponse;
+import com.example.task_manager.dto.TaskBatchUpdateRequest;
+import com.example.task_manager.dto.TaskChangesResponse;
+import com.example.task_manager.dto.TaskCursor;
+import com.example.task_manager.dto.TaskCursorPage;
+import com.example.task_manager.dto.TaskFilter;
+import com.example.task_manager.dto.TaskPatchRequest;
 import com.example.task_manager.dto.TaskRequest;
 import com.example.task_manager.dto.TaskResponse;
+import com.example.task_manager.dto.TaskStatusRequest;
+import com.example.task_manager.dto.TaskSummaryResponse;
 import com.example.task_manager.entity.Status;
+import com.example.task_manager.event.TaskEventBus;
+import com.example.task_manager.service.TaskBatchService;
+import com.example.task_manager.service.TaskCounterService;
+import com.example.task_manager.service.TaskExportService;
 import com.example.task_manager.service.TaskService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.file.AccessDeniedException;
-import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,46 +39,178 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskExportService taskExportService;
+    private final TaskCounterService taskCounterService;
+    private final TaskEventBus taskEventBus;
 
     @PostMapping
-    public TaskResponse create(@RequestBody TaskRequest taskRequest) throws AccessDeniedException {
+    public TaskResponse create(@RequestBody TaskRequest taskRequest) {
         return taskService.createTask(taskRequest);
     }
 
+    @PostMapping("/batch")
+    public BatchResponse createBatch(@RequestBody List<TaskRequest> taskRequests) {
+        return taskBatchService.createTasks(taskRequests);
+    }
+
+    @PutMapping("/batch")
+    public BatchResponse updateBatch(@RequestBody List<TaskBatchUpdateRequest> taskRequests) {
+        return taskBatchService.updateTasks(taskRequests);
+    }
+
+    @DeleteMapping("/batch")
+    public BatchResponse deleteBatch(@RequestBody List<Long> ids) {
+        return taskBatchService.deleteTasks(ids);
+    }
+
     @GetMapping()
     public List<TaskResponse> getAll(@RequestParam(required = false)Status status) {
         return taskService.getTasks(status);
     }
 
+    @GetMapping("/summary")
+    public TaskSummaryResponse getSummary() {
+        return taskCounterService.getSummary();
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return taskEventBus.subscribe();
+    }
+
+    @GetMapping("/search")
+    public Slice<TaskResponse> search(@RequestParam String q,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "20") int size) {
+        // ranking sorts every match, so an unbounded page would make one request arbitrarily expensive
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size must be between 1 and 100");
+        }
+        return taskService.searchTasks(q, PageRequest.of(page, size));
+    }
+
+    @GetMapping("/changes")
+    public TaskChangesResponse getChanges(@RequestParam(defaultValue = "0") long since,
+                                          @RequestParam(required = false) Long afterId,
+                                          @RequestParam(defaultValue = "500") int limit) {
+        if (limit < 1 || limit > 5000) {
+            throw new IllegalArgumentException("limit must be between 1 and 5000");
+        }
+        return taskService.getChanges(since, afterId, limit);
+    }
+
+    // the ETag is the task version, so it can be echoed as If-Match on PUT/PATCH;
+    // a matching If-None-Match is answered with 304 by the ResponseEntity handling
     @GetMapping("/{id}")
-    public TaskResponse getTaskById(@PathVariable Long id) throws AccessDeniedException {
-        return taskService.getTaskById(id);
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
+        TaskResponse task = taskService.getTaskById(id);
+        return ResponseEntity.ok()
+                .eTag("\"" + task.getVersion() + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(task);
+    }
+
+    @GetMapping("/{id}/history")
+    public List<AuditEventResponse> getTaskHistory(@PathVariable Long id) {
+        return taskService.getTaskHistory(id);
     }
 
     @GetMapping("/filter")
-    public List<TaskResponse> filterTasks(@RequestParam(required = false) Status status,
-                                          @RequestParam(required = false) Long categoryId,
-                                          @RequestParam(required = false) LocalDateTime createdBefore) {
-        return taskService.filterTask(status, categoryId, createdBefore);
+    public List<TaskResponse> filterTasks(TaskFilter filter,
+                                          @RequestParam(defaultValue = "id,asc") String sort) {
+        return taskService.filterTask(filter, parseSort(sort));
+    }
+
+    @GetMapping("/filter/paged")
+    public Page<TaskResponse> filterTasksPaged(TaskFilter filter,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "10") int size,
+                                               @RequestParam(defaultValue = "id,asc") String sort) {
+        return taskService.filterTaskPaged(filter, PageRequest.of(page, size, parseSort(sort)));
     }
 
     @GetMapping("/paged")
     public Page<TaskResponse> getTasksPaged(@RequestParam(defaultValue = "0") int page,
                                             @RequestParam(defaultValue = "10") int size,
                                             @RequestParam(defaultValue = "id,asc") String sort) {
-        String[] sortParams = sort.split(",");
-        Sort sortBy = Sort.by(Sort.Direction.fromString(sortParams[1]), sortParams[0]);
-        Pageable pageable = PageRequest.of(page, size, sortBy);
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
         return taskService.getTasksPaged(pageable);
     }
 
+    @GetMapping("/cursor")
+    public TaskCursorPage getTasksByCursor(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "10") int size,
+                                           @RequestParam(defaultValue = "id,asc") String sort) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        TaskCursor position;
+        if (cursor != null) {
+            position = TaskCursor.decode(cursor);
+        } else {
+            String[] sortParams = sort.split(",");
+            position = TaskCursor.first(sortParams[0], Sort.Direction.fromString(sortParams[1]));
+        }
+        return taskService.getTasksByCursor(position, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        StreamingResponseBody body = taskExportService.export(format);
+        MediaType contentType = format.equals("csv")
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format + "\"")
+                .body(body);
+    }
+
     @PutMapping("/{id}")
-    public TaskResponse update(@PathVariable Long id, @RequestBody TaskRequest taskRequest) throws AccessDeniedException {
-        return taskService.updateTask(id, taskRequest);
+    public TaskResponse update(@PathVariable Long id,
+                               @RequestBody TaskRequest taskRequest,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTask(id, taskRequest, parseVersion(ifMatch));
+    }
+
+    @PatchMapping("/{id}")
+    public TaskResponse patch(@PathVariable Long id,
+                              @RequestBody TaskPatchRequest request,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.patchTask(id, request, parseVersion(ifMatch));
+    }
+
+    @PutMapping("/{id}/status")
+    public TaskResponse changeStatus(@PathVariable Long id,
+                                     @RequestBody TaskStatusRequest request,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.changeStatus(id, request, parseVersion(ifMatch));
     }
 
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id) throws AccessDeniedException {
+    public void delete(@PathVariable Long id) {
         taskService.deleteTask(id);
     }
+
+    // If-Match carries the task version as handed out in the ETag of GET /{id}, e.g. "3" or W/"3"
+    private Long parseVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match version: " + ifMatch);
+        }
+    }
+
+    private Sort parseSort(String sort) {
+        String[] sortParams = sort.split(",");
+        return Sort.by(Sort.Direction.fromString(sortParams[1]), sortParams[0]);
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.task_manager.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+@AllArgsConstructor
+public class AuditEventResponse {
+    private Long id;
+    private Long userId;
+    private String action;
+    @JsonRawValue
+    private String payload;
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private Long id;
+    private boolean success;
+    private String error;
+
+    public static BatchItemResult success(int index, Long id) {
+        return new BatchItemResult(index, id, true, null);
+    }
+
+    public static BatchItemResult failure(int index, Long id, String error) {
+        return new BatchItemResult(index, id, false, error);
+    }
+}
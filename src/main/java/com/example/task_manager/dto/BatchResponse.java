@@ -0,0 +1,19 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> items;
+
+    public static BatchResponse of(List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchResponse(succeeded, items.size() - succeeded, items);
+    }
+}
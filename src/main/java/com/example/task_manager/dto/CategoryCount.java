@@ -0,0 +1,12 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CategoryCount {
+    private Long categoryId;
+    private String categoryName;
+    private long count;
+}
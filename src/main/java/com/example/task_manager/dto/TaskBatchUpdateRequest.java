@@ -0,0 +1,15 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.entity.Status;
+import lombok.Data;
+
+@Data
+public class TaskBatchUpdateRequest {
+    private Long id;
+    private String title;
+    private String description;
+    private Status status;
+    private Long categoryId;
+    // optional expected version; a mismatch fails only this item
+    private Long version;
+}
@@ -0,0 +1,14 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskChange {
+    private Long id;
+    private long revision;
+    private boolean deleted;
+    // null for deletions
+    private TaskResponse task;
+}
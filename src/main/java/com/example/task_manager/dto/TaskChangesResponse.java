@@ -0,0 +1,16 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskChange> changes;
+    // pass back as since/afterId to continue; once hasMore is false, lastRevision is the new since
+    private long lastRevision;
+    private Long lastId;
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskCounterDrift {
+    private Long userId;
+    private Status status;
+    private Long categoryId;
+    private long stored;
+    private long actual;
+}
@@ -0,0 +1,86 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position in a keyset-paginated task listing: the sort key and id of the last row
+ * returned. Clients only ever see it as an opaque base64 token.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCursor {
+
+    // only non-null columns with a (user_id, column, id) index, so every page is an index range seek
+    public static final Set<String> SORT_FIELDS = Set.of("id", "createdAt", "updatedAt");
+
+    // encoded values carry a marker so a null sort key survives the round trip
+    private static final char NULL_MARKER = '!';
+    private static final char VALUE_MARKER = '=';
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Object lastValue;
+    private final Long lastId;
+
+    public static TaskCursor first(String sortField, Sort.Direction direction) {
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+        return new TaskCursor(sortField, direction, null, null);
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public TaskCursor next(TaskResponse last) {
+        Object value = switch (sortField) {
+            case "id" -> last.getId();
+            case "createdAt" -> last.getCreatedAt();
+            case "updatedAt" -> last.getUpdatedAt();
+            default -> throw new IllegalStateException("Unexpected sort field: " + sortField);
+        };
+        return new TaskCursor(sortField, direction, value, last.getId());
+    }
+
+    public String encode() {
+        String value = lastValue == null ? String.valueOf(NULL_MARKER) : VALUE_MARKER + lastValue.toString();
+        String raw = sortField + "," + direction.name() + "," + lastId + "," + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",", 4);
+            String sortField = parts[0];
+            if (!SORT_FIELDS.contains(sortField)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Long lastId = Long.valueOf(parts[2]);
+            Object lastValue;
+            if (parts[3].equals(String.valueOf(NULL_MARKER))) {
+                lastValue = null;
+            } else if (parts[3].charAt(0) == VALUE_MARKER) {
+                String value = parts[3].substring(1);
+                lastValue = switch (sortField) {
+                    case "id" -> lastId;
+                    default -> LocalDateTime.parse(value);
+                };
+            } else {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TaskCursor(sortField, direction, lastValue, lastId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
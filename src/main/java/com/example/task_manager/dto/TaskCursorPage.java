@@ -0,0 +1,14 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskCursorPage {
+    private List<TaskResponse> content;
+    private int size;
+    private String nextCursor;
+}
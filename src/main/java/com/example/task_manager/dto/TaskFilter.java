@@ -0,0 +1,19 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.entity.Status;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskFilter {
+    private Status status;
+    private Long categoryId;
+    private LocalDateTime createdBefore;
+    private LocalDateTime updatedAfter;
+    private LocalDateTime updatedBefore;
+    private String titlePrefix;
+}
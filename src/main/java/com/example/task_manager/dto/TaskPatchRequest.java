@@ -0,0 +1,21 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial task update. Null fields are left unchanged. The expected version comes
+ * from here or from an If-Match header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPatchRequest {
+    private String title;
+    private String description;
+    private Status status;
+    private Long categoryId;
+    private Long version;
+}
@@ -9,4 +9,6 @@ public class TaskRequest {
     private String description;
     private Status status;
     private Long categoryId;
+    // optional expected version when replacing with PUT; ignored on create
+    private Long version;
 }
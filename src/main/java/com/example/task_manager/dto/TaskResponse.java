@@ -1,6 +1,7 @@
 package com.example.task_manager.dto;
 
 import com.example.task_manager.entity.Status;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class TaskResponse {
     private Long id;
     private String title;
@@ -17,4 +19,6 @@ public class TaskResponse {
     private String categoryName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // optimistic lock version; send it back as If-Match or in the body when patching
+    private Long version;
 }
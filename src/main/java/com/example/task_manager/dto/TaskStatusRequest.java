@@ -0,0 +1,10 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.entity.Status;
+import lombok.Data;
+
+@Data
+public class TaskStatusRequest {
+    private Status status;
+    private Long version;
+}
@@ -0,0 +1,16 @@
+package com.example.task_manager.dto;
+
+import com.example.task_manager.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class TaskSummaryResponse {
+    private long total;
+    private Map<Status, Long> byStatus;
+    private List<CategoryCount> byCategory;
+}
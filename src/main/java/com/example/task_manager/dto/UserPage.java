@@ -0,0 +1,14 @@
+package com.example.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserPage {
+    private List<UserResponse> content;
+    private int size;
+    private String nextCursor;
+}
@@ -1,8 +1,12 @@
 package com.example.task_manager.dto;
 
+import com.example.task_manager.entity.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 @Builder
 public class UserResponse {
@@ -11,4 +15,7 @@ public class UserResponse {
     private String lastName;
     private String email;
     private String role;
+    // only filled in when task statistics are requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Status, Long> taskCounts;
 }
@@ -4,10 +4,20 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_task_user_status", columnList = "user_id, status, id"),
+        @Index(name = "idx_task_user_created_at", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_task_user_updated_at", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_task_category", columnList = "category_id"),
+        @Index(name = "idx_task_user_revision", columnList = "user_id, revision, id")
+})
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +26,8 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -26,6 +37,17 @@ public class Task {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // per-user revision of the last write, see UserRevisionService
+    private Long revision;
+
+    // optimistic lock; null until the task is first persisted
+    @Version
+    private Long version;
+
+    // tombstone; deleted rows are hidden from every entity query
+    @Builder.Default
+    private boolean deleted = false;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
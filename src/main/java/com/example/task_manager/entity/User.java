@@ -2,12 +2,19 @@ package com.example.task_manager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name="users")
-@Data
+@Getter
+@Setter
+// the collections are lazy; printing them would load every task and category of the user
+@ToString(exclude = {"password", "tasks", "categories"})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,42 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.dto.TaskResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // many tasks changed at once; clients should catch up through /api/tasks/changes
+        BULK
+    }
+
+    @JsonIgnore
+    private final Long userId;
+    private final Type type;
+    private final Long taskId;
+    private final long revision;
+    private final TaskResponse task;
+    @JsonIgnore
+    private final Instant publishedAt;
+
+    public static TaskChangedEvent of(Type type, Long userId, long revision, TaskResponse task) {
+        return new TaskChangedEvent(userId, type, task.getId(), revision, task, Instant.now());
+    }
+
+    public static TaskChangedEvent deleted(Long userId, long revision, Long taskId) {
+        return new TaskChangedEvent(userId, Type.DELETED, taskId, revision, null, Instant.now());
+    }
+
+    public static TaskChangedEvent bulk(Long userId, long revision) {
+        return new TaskChangedEvent(userId, Type.BULK, null, revision, null, Instant.now());
+    }
+}
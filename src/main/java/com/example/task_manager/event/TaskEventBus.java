@@ -0,0 +1,168 @@
+package com.example.task_manager.event;
+
+import com.example.task_manager.security.CurrentUserProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed task changes to the SSE subscribers of the same user.
+ * Each subscriber has a bounded buffer drained by its own virtual thread; a subscriber
+ * whose buffer fills up is disconnected rather than allowed to hold back the publisher.
+ */
+@Slf4j
+@Component
+public class TaskEventBus {
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final CurrentUserProvider currentUserProvider;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Timer fanOutLatency;
+    private final Counter dropped;
+
+    public TaskEventBus(CurrentUserProvider currentUserProvider,
+                        MeterRegistry meterRegistry,
+                        @Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                        @Value("${tasks.stream.timeout:30m}") Duration timeout,
+                        @Value("${tasks.stream.heartbeat:25s}") Duration heartbeat) {
+        this.currentUserProvider = currentUserProvider;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.fanOutLatency = Timer.builder("tasks.stream.fanout")
+                .description("Time from commit to the event being written to a subscriber")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = Counter.builder("tasks.stream.dropped")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("tasks.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        Long userId = currentUserProvider.getUserId();
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        // add inside the atomic compute: remove() may drop an emptied set concurrently,
+        // and adding to a set that is no longer mapped would leave the subscriber deaf
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.start();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getUserId());
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            if (!subscriber.offer(event)) {
+                dropped.increment();
+                log.debug("Dropping slow task stream subscriber of user {}", event.getUserId());
+                subscriber.close();
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskChangedEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Thread sender;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("task-stream-" + userId).start(this::run);
+        }
+
+        boolean offer(TaskChangedEvent event) {
+            return !closed.get() && queue.offer(event);
+        }
+
+        private void run() {
+            try {
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (!closed.get()) {
+                    TaskChangedEvent event = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getRevision()))
+                            .name(event.getType().name().toLowerCase())
+                            .data(event));
+                    fanOutLatency.record(Duration.between(event.getPublishedAt(), Instant.now()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // client disconnected
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            remove(this);
+            if (sender != null && sender != Thread.currentThread()) {
+                sender.interrupt();
+            }
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.AuditEventResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class AuditRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // moves the oldest rows in a single statement; SKIP LOCKED lets several instances drain side by side
+    private static final String DRAIN = """
+            with moved as (
+                delete from audit_outbox
+                where id in (
+                    select id from audit_outbox
+                    order by id
+                    limit ?
+                    for update skip locked
+                )
+                returning id, user_id, entity_type, entity_id, action, payload, created_at
+            )
+            insert into audit_event (id, user_id, entity_type, entity_id, action, payload, created_at)
+            select id, user_id, entity_type, entity_id, action, payload, created_at from moved
+            """;
+
+    private static final String HISTORY = """
+            select id, user_id, action, payload::text as payload, created_at
+            from (
+                select id, user_id, action, payload, created_at
+                from audit_event
+                where entity_type = ? and entity_id = ? and user_id = ?
+                union all
+                select id, user_id, action, payload, created_at
+                from audit_outbox
+                where entity_type = ? and entity_id = ? and user_id = ?
+            ) history
+            order by created_at, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertOutbox(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                insert into audit_outbox (user_id, entity_type, entity_id, action, payload)
+                values (?, ?, ?, ?, ?::jsonb)
+                """, rows);
+    }
+
+    public int drain(int batchSize) {
+        return jdbcTemplate.update(DRAIN, batchSize);
+    }
+
+    public long outboxDepth() {
+        Long depth = jdbcTemplate.queryForObject("select count(*) from audit_outbox", Long.class);
+        return depth != null ? depth : 0;
+    }
+
+    /**
+     * Creates the month's partition unless it exists. Rows that already landed in the
+     * default partition for that month (a missed maintenance run) are moved into it first,
+     * since the default partition may not overlap the new range. Must run in a transaction.
+     */
+    public void ensurePartition(YearMonth month) {
+        String table = "audit_event_" + month.format(PARTITION_SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        // serializes instances running maintenance at the same time
+        jdbcTemplate.query("select pg_advisory_xact_lock(hashtext('audit_event_partitions'))", rs -> null);
+        Boolean exists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, table);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        jdbcTemplate.execute("create table " + table + " (like audit_event including defaults including constraints)");
+        jdbcTemplate.update("""
+                with moved as (
+                    delete from audit_event_default
+                    where created_at >= ?::date and created_at < ?::date
+                    returning *
+                )
+                insert into %s select * from moved
+                """.formatted(table), from.toString(), to.toString());
+        jdbcTemplate.execute("alter table audit_event attach partition " + table
+                + " for values from ('" + from + "') to ('" + to + "')");
+    }
+
+    public List<AuditEventResponse> findHistory(String entityType, Long entityId, Long userId) {
+        return jdbcTemplate.query(HISTORY,
+                (rs, rowNum) -> new AuditEventResponse(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        rs.getString("action"),
+                        rs.getString("payload"),
+                        rs.getObject("created_at", OffsetDateTime.class)),
+                entityType, entityId, userId, entityType, entityId, userId);
+    }
+}
@@ -2,10 +2,29 @@ package com.example.task_manager.repository;
 
 import com.example.task_manager.entity.Category;
 import com.example.task_manager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findAllByUser(User user);
+    List<Category> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+    Optional<Category> findByIdAndUserId(Long id, Long userId);
+
+    // bulk JPQL rather than native SQL so Hibernate evicts the Category cache region and cached queries
+    @Modifying
+    @Query("update Category c set c.name = :name, c.description = :description where c.id = :id and c.user.id = :userId")
+    int updateByIdAndUserId(Long id, Long userId, String name, String description);
+
+    @Modifying
+    @Query("delete from Category c where c.id = :id and c.user.id = :userId")
+    int deleteByIdAndUserId(Long id, Long userId);
 }
@@ -0,0 +1,45 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskChange;
+import com.example.task_manager.dto.TaskResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads task rows including tombstones, which the Task entity hides, in
+ * (revision, id) order for delta sync.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskChangeRepository {
+
+    private static final String SELECT = """
+            select t.id, t.revision, t.deleted, t.title, t.description, t.status,
+                   u.email, c.name as category_name, t.created_at, t.updated_at, t.version
+            from task t
+            join users u on u.id = t.user_id
+            left join category c on c.id = t.category_id
+            where t.user_id = ?
+            """;
+
+    private static final RowMapper<TaskChange> MAPPER = (rs, rowNum) -> {
+        boolean deleted = rs.getBoolean("deleted");
+        TaskResponse task = deleted ? null : TaskResponseRowMapper.INSTANCE.mapRow(rs, rowNum);
+        return new TaskChange(rs.getLong("id"), rs.getLong("revision"), deleted, task);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TaskChange> findChanges(Long userId, long since, Long afterId, int limit) {
+        if (afterId == null) {
+            return jdbcTemplate.query(SELECT + " and t.revision > ? order by t.revision, t.id limit ?",
+                    MAPPER, userId, since, limit);
+        }
+        return jdbcTemplate.query(SELECT + " and (t.revision, t.id) > (?, ?) order by t.revision, t.id limit ?",
+                MAPPER, userId, since, afterId, limit);
+    }
+}
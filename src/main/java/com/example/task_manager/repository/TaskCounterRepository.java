@@ -0,0 +1,134 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskCounterDrift;
+import com.example.task_manager.entity.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the task_counter aggregate table. It needs upserts and
+ * null-safe grouping, which JPA has no good way to express.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCounterRepository {
+
+    private static final String UPSERT = """
+            insert into task_counter (user_id, status, category_id, task_count)
+            values (?, ?, ?, ?)
+            on conflict on constraint uq_task_counter
+            do update set task_count = task_counter.task_count + excluded.task_count
+            """;
+
+    private static final String DRIFT = """
+            select user_id, status, category_id, sum(stored) as stored, sum(actual) as actual
+            from (
+                select user_id, status, category_id, task_count as stored, 0 as actual
+                from task_counter
+                union all
+                select user_id, status, category_id, 0, count(*)
+                from task
+                where user_id is not null and not deleted
+                group by user_id, status, category_id
+            ) counts
+            group by user_id, status, category_id
+            having sum(stored) <> sum(actual)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void add(Long userId, Status status, Long categoryId, long delta) {
+        jdbcTemplate.update(UPSERT, userId, name(status), categoryId, delta);
+    }
+
+    public void addAll(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    public void moveCategory(Long userId, Long fromCategoryId, Long toCategoryId) {
+        jdbcTemplate.update("""
+                with removed as (
+                    delete from task_counter
+                    where user_id = ? and category_id = ?
+                    returning status, task_count
+                )
+                insert into task_counter (user_id, status, category_id, task_count)
+                select cast(? as bigint), status, cast(? as bigint), task_count from removed
+                on conflict on constraint uq_task_counter
+                do update set task_count = task_counter.task_count + excluded.task_count
+                """, userId, fromCategoryId, userId, toCategoryId);
+    }
+
+    public List<StatusCategoryCount> findByUserId(Long userId) {
+        return jdbcTemplate.query("""
+                        select tc.status, tc.category_id, c.name, tc.task_count
+                        from task_counter tc
+                        left join category c on c.id = tc.category_id
+                        where tc.user_id = ? and tc.task_count <> 0
+                        """,
+                (rs, rowNum) -> new StatusCategoryCount(
+                        status(rs.getString("status")),
+                        rs.getObject("category_id", Long.class),
+                        rs.getString("name"),
+                        rs.getLong("task_count")),
+                userId);
+    }
+
+    public List<UserStatusCount> countByStatusForUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                        select user_id, status, sum(task_count) as task_count
+                        from task_counter
+                        where user_id = any(?) and status is not null
+                        group by user_id, status
+                        having sum(task_count) <> 0
+                        """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds.toArray())),
+                (rs, rowNum) -> new UserStatusCount(
+                        rs.getLong("user_id"),
+                        status(rs.getString("status")),
+                        rs.getLong("task_count")));
+    }
+
+    public List<TaskCounterDrift> findDrift() {
+        RowMapper<TaskCounterDrift> mapper = (rs, rowNum) -> new TaskCounterDrift(
+                rs.getLong("user_id"),
+                status(rs.getString("status")),
+                rs.getObject("category_id", Long.class),
+                rs.getLong("stored"),
+                rs.getLong("actual"));
+        return jdbcTemplate.query(DRIFT, mapper);
+    }
+
+    public void rebuildForUser(Long userId) {
+        jdbcTemplate.update("delete from task_counter where user_id = ?", userId);
+        jdbcTemplate.update("""
+                insert into task_counter (user_id, status, category_id, task_count)
+                select user_id, status, category_id, count(*)
+                from task
+                where user_id = ? and not deleted
+                group by user_id, status, category_id
+                """, userId);
+    }
+
+    private static String name(Status status) {
+        return status != null ? status.name() : null;
+    }
+
+    private static Status status(String name) {
+        return name != null ? Status.valueOf(name) : null;
+    }
+
+    public record UserStatusCount(Long userId, Status status, long count) {
+    }
+
+    public record StatusCategoryCount(Status status, Long categoryId, String categoryName, long count) {
+    }
+}
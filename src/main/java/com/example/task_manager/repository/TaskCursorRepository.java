@@ -0,0 +1,10 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskCursor;
+import com.example.task_manager.dto.TaskResponse;
+
+import java.util.List;
+
+public interface TaskCursorRepository {
+    List<TaskResponse> findResponsesAfter(Long userId, TaskCursor cursor, int limit);
+}
@@ -0,0 +1,63 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskCursor;
+import com.example.task_manager.dto.TaskResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public class TaskCursorRepositoryImpl implements TaskCursorRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Keyset seek: rows strictly after (lastValue, lastId) in (sortField, id) order. The
+     * sort columns are non-null and indexed as (user_id, column, id), so the row-value
+     * comparison is a single index range scan, read backwards for descending order.
+     * The sort field comes from {@link TaskCursor#SORT_FIELDS}, so it is safe to inline.
+     */
+    @Override
+    public List<TaskResponse> findResponsesAfter(Long userId, TaskCursor cursor, int limit) {
+        String field = "t." + cursor.getSortField();
+        boolean byId = cursor.getSortField().equals("id");
+        boolean asc = cursor.getDirection() == Sort.Direction.ASC;
+        String cmp = asc ? ">" : "<";
+        String dir = asc ? "asc" : "desc";
+        if (!cursor.isFirst() && !byId && cursor.getLastValue() == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        StringBuilder jpql = new StringBuilder("""
+                select new com.example.task_manager.dto.TaskResponse(
+                    t.id, t.title, t.description, t.status, u.email, c.name, t.createdAt, t.updatedAt, t.version)
+                from Task t join t.user u left join t.category c
+                where u.id = :userId
+                """);
+        if (!cursor.isFirst()) {
+            if (byId) {
+                jpql.append(" and t.id ").append(cmp).append(" :lastId");
+            } else {
+                jpql.append(" and (").append(field).append(", t.id) ").append(cmp).append(" (:lastValue, :lastId)");
+            }
+        }
+        jpql.append(" order by ").append(field).append(' ').append(dir);
+        if (!byId) {
+            jpql.append(", t.id ").append(dir);
+        }
+
+        TypedQuery<TaskResponse> query = entityManager.createQuery(jpql.toString(), TaskResponse.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (!cursor.isFirst()) {
+            query.setParameter("lastId", cursor.getLastId());
+            if (!byId) {
+                query.setParameter("lastValue", cursor.getLastValue());
+            }
+        }
+        return query.getResultList();
+    }
+}
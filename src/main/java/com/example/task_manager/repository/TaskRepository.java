@@ -1,15 +1,102 @@
 package com.example.task_manager.repository;
 
+import com.example.task_manager.dto.TaskResponse;
 import com.example.task_manager.entity.Status;
 import com.example.task_manager.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findAllByUserId(Long userId);
-    List<Task> findAllByUserIdAndStatus(Long userId, Status status);
-    Page<Task> findAllByUserId(Long userId, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskCursorRepository {
+
+    // ownership is part of the query: another user's task is simply not found
+    @Query("""
+            select new com.example.task_manager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, u.email, c.name, t.createdAt, t.updatedAt, t.version)
+            from Task t join t.user u left join t.category c
+            where t.id = :id and u.id = :userId
+            """)
+    Optional<TaskResponse> findResponseByIdAndUserId(Long id, Long userId);
+
+    @Query("""
+            select new com.example.task_manager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, u.email, c.name, t.createdAt, t.updatedAt, t.version)
+            from Task t join t.user u left join t.category c
+            where u.id = :userId
+            """)
+    List<TaskResponse> findResponsesByUserId(Long userId);
+
+    @Query("""
+            select new com.example.task_manager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, u.email, c.name, t.createdAt, t.updatedAt, t.version)
+            from Task t join t.user u left join t.category c
+            where u.id = :userId and t.status = :status
+            """)
+    List<TaskResponse> findResponsesByUserIdAndStatus(Long userId, Status status);
+
+    @Query(value = """
+            select new com.example.task_manager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, u.email, c.name, t.createdAt, t.updatedAt, t.version)
+            from Task t join t.user u left join t.category c
+            where u.id = :userId
+            """,
+            countQuery = "select count(t) from Task t where t.user.id = :userId")
+    Page<TaskResponse> findResponsesByUserId(Long userId, Pageable pageable);
+
+    // forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.task_manager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, u.email, c.name, t.createdAt, t.updatedAt, t.version)
+            from Task t join t.user u left join t.category c
+            where u.id = :userId
+            order by t.id
+            """)
+    Stream<TaskResponse> streamResponsesByUserId(Long userId);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "category"})
+    List<Task> findAll(Specification<Task> spec, Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "category"})
+    Page<Task> findAll(Specification<Task> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    List<Task> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Query("""
+            select t.id as id, t.status as status, c.id as categoryId
+            from Task t left join t.category c
+            where t.id in :ids and t.user.id = :userId
+            """)
+    List<TaskKey> findKeysByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying
+    @Query("""
+            update Task t set t.deleted = true, t.revision = :revision, t.updatedAt = :updatedAt, t.version = t.version + 1
+            where t.id in :ids and t.user.id = :userId
+            """)
+    int markDeleted(Collection<Long> ids, Long userId, long revision, LocalDateTime updatedAt);
+
+    interface TaskKey {
+        Long getId();
+        Status getStatus();
+        Long getCategoryId();
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskResponse;
+import com.example.task_manager.entity.Status;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Maps a task row joined with users (email) and category (category_name) to a TaskResponse.
+ */
+class TaskResponseRowMapper implements RowMapper<TaskResponse> {
+
+    static final TaskResponseRowMapper INSTANCE = new TaskResponseRowMapper();
+
+    @Override
+    public TaskResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        String status = rs.getString("status");
+        return new TaskResponse(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                status != null ? Status.valueOf(status) : null,
+                rs.getString("email"),
+                rs.getString("category_name"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")),
+                rs.getLong("version"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
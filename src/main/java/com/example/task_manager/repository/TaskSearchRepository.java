@@ -0,0 +1,34 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Full-text search over the trigger-maintained task.search_vector column (see V7__task_search.sql).
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSearchRepository {
+
+    private static final String SEARCH = """
+            select t.id, t.title, t.description, t.status, u.email, c.name as category_name,
+                   t.created_at, t.updated_at, t.version
+            from task t
+            join users u on u.id = t.user_id
+            left join category c on c.id = t.category_id,
+            websearch_to_tsquery('simple', ?) query
+            where t.user_id = ? and not t.deleted and t.search_vector @@ query
+            order by ts_rank(t.search_vector, query) desc, t.id desc
+            limit ? offset ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TaskResponse> search(Long userId, String query, int limit, long offset) {
+        return jdbcTemplate.query(SEARCH, TaskResponseRowMapper.INSTANCE, query, userId, limit, offset);
+    }
+}
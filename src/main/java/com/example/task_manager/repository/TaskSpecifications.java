@@ -0,0 +1,77 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskFilter;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> forUser(Long userId, TaskFilter filter) {
+        return Specification.where(belongsToUser(userId))
+                .and(hasStatus(filter.getStatus()))
+                .and(hasCategory(filter.getCategoryId()))
+                .and(createdBefore(filter.getCreatedBefore()))
+                .and(updatedAfter(filter.getUpdatedAfter()))
+                .and(updatedBefore(filter.getUpdatedBefore()))
+                .and(titleStartsWith(filter.getTitlePrefix()));
+    }
+
+    public static Specification<Task> belongsToUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> hasStatus(Status status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Task> createdBefore(LocalDateTime createdBefore) {
+        if (createdBefore == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), createdBefore);
+    }
+
+    public static Specification<Task> updatedAfter(LocalDateTime updatedAfter) {
+        if (updatedAfter == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("updatedAt"), updatedAfter);
+    }
+
+    public static Specification<Task> updatedBefore(LocalDateTime updatedBefore) {
+        if (updatedBefore == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("updatedAt"), updatedBefore);
+    }
+
+    public static Specification<Task> titleStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.like(root.get("title"), pattern, '\\');
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
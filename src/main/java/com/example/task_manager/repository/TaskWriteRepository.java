@@ -0,0 +1,197 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskPatchRequest;
+import com.example.task_manager.dto.TaskResponse;
+import com.example.task_manager.entity.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User-scoped single-task writes, each done as one statement without loading the
+ * task first. Ownership is part of the WHERE clause, so a task of another user
+ * simply matches no row. The old status and category come back from the same
+ * statement so the caller can adjust task_counter.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskWriteRepository {
+
+    // "old" locks the row and keeps its pre-update values; the category join doubles as the ownership check
+    private static final String UPDATE = """
+            update task t
+            set title = %s,
+                description = %s,
+                status = %s,
+                category_id = coalesce(?, t.category_id),
+                revision = ?,
+                updated_at = ?,
+                version = t.version + 1
+            from (
+                select id, status, category_id
+                from task
+                where id = ? and user_id = ? and not deleted
+                  and (cast(? as bigint) is null or version = ?)
+                for update
+            ) old
+            join users u on u.id = ?
+            left join category c on c.id = coalesce(cast(? as bigint), old.category_id) and c.user_id = ?
+            where t.id = old.id and (cast(? as bigint) is null or c.id is not null)
+            returning t.id, t.title, t.description, t.status, u.email, c.name as category_name,
+                      t.created_at, t.updated_at, t.version,
+                      old.status as old_status, old.category_id as old_category_id
+            """;
+
+    private static final String PATCH = UPDATE.formatted(
+            "coalesce(?, t.title)", "coalesce(?, t.description)", "coalesce(?, t.status)");
+
+    private static final String REPLACE = UPDATE.formatted("?", "?", "?");
+
+    private static final String SOFT_DELETE = """
+            update task
+            set deleted = true, revision = ?, updated_at = ?, version = version + 1
+            where id = ? and user_id = ? and not deleted
+            returning status, category_id
+            """;
+
+    // tombstones move too (the foreign key still points at the category); only live tasks get a new revision
+    private static final String REASSIGN_CATEGORY = """
+            with moved as (
+                update task
+                set category_id = ?,
+                    revision = case when deleted then revision else ? end,
+                    updated_at = case when deleted then updated_at else ? end,
+                    version = version + 1
+                where user_id = ? and category_id = ?
+                returning deleted
+            )
+            select count(*) filter (where not deleted) from moved
+            """;
+
+    private static final String BATCH_REPLACE = """
+            update task
+            set title = ?, description = ?, status = ?, category_id = ?, revision = ?, updated_at = ?,
+                version = version + 1
+            where id = ? and user_id = ? and version = ? and not deleted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sets the non-null fields of {@code patch}; {@code expectedVersion} may be null to skip the version check.
+     */
+    public Optional<UpdatedTask> patchByIdAndUserId(Long id, Long userId, Long expectedVersion, TaskPatchRequest patch,
+                                                    long revision, LocalDateTime updatedAt) {
+        return update(PATCH, id, userId, expectedVersion, patch, revision, updatedAt);
+    }
+
+    /**
+     * Overwrites title, description and status (nulls included) and moves the task to {@code patch.categoryId}.
+     */
+    public Optional<UpdatedTask> updateByIdAndUserId(Long id, Long userId, Long expectedVersion, TaskPatchRequest patch,
+                                                     long revision, LocalDateTime updatedAt) {
+        return update(REPLACE, id, userId, expectedVersion, patch, revision, updatedAt);
+    }
+
+    /**
+     * Marks the task deleted; empty when the user has no such live task.
+     */
+    public Optional<TaskState> deleteByIdAndUserId(Long id, Long userId, long revision, LocalDateTime updatedAt) {
+        return jdbcTemplate.query(SOFT_DELETE,
+                        (rs, rowNum) -> new TaskState(status(rs.getString("status")), rs.getObject("category_id", Long.class)),
+                        revision, Timestamp.valueOf(updatedAt), id, userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Moves every task of the user from one category to another ({@code null} for none).
+     *
+     * @return the number of live tasks moved
+     */
+    public long reassignCategory(Long userId, Long fromCategoryId, Long toCategoryId, long revision, LocalDateTime updatedAt) {
+        Long moved = jdbcTemplate.queryForObject(REASSIGN_CATEGORY, Long.class,
+                toCategoryId, revision, Timestamp.valueOf(updatedAt), userId, fromCategoryId);
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Gives the live tasks of a category a new revision and version, so delta-sync clients
+     * and the per-task ETag pick up a changed category name.
+     */
+    public int touchCategory(Long userId, Long categoryId, long revision) {
+        return jdbcTemplate.update("update task set revision = ?, version = version + 1 where user_id = ? and category_id = ? and not deleted",
+                revision, userId, categoryId);
+    }
+
+    /**
+     * Overwrites many tasks in one JDBC batch. Each row is guarded by its expected version,
+     * so a task changed concurrently is skipped rather than failing the whole batch.
+     *
+     * @return per replacement, in order, whether its row was updated
+     */
+    public boolean[] replaceAll(Long userId, List<TaskReplacement> replacements, long revision, LocalDateTime updatedAt) {
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        List<Object[]> rows = replacements.stream()
+                .map(r -> new Object[]{r.title(), r.description(), r.status() != null ? r.status().name() : null,
+                        r.categoryId(), revision, timestamp, r.id(), userId, r.expectedVersion()})
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(BATCH_REPLACE, rows);
+        boolean[] updated = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            updated[i] = counts[i] != 0;
+        }
+        return updated;
+    }
+
+    // only used to explain why an update matched no row
+    public Optional<TaskVersion> findVersionByIdAndUserId(Long id, Long userId) {
+        return jdbcTemplate.query("select version from task where id = ? and user_id = ? and not deleted",
+                        (rs, rowNum) -> new TaskVersion(rs.getLong("version")),
+                        id, userId)
+                .stream()
+                .findFirst();
+    }
+
+    private Optional<UpdatedTask> update(String sql, Long id, Long userId, Long expectedVersion, TaskPatchRequest patch,
+                                         long revision, LocalDateTime updatedAt) {
+        List<UpdatedTask> rows = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new UpdatedTask(
+                        TaskResponseRowMapper.INSTANCE.mapRow(rs, rowNum),
+                        new TaskState(status(rs.getString("old_status")), rs.getObject("old_category_id", Long.class))),
+                patch.getTitle(),
+                patch.getDescription(),
+                patch.getStatus() != null ? patch.getStatus().name() : null,
+                patch.getCategoryId(),
+                revision,
+                Timestamp.valueOf(updatedAt),
+                id, userId,
+                expectedVersion, expectedVersion,
+                userId,
+                patch.getCategoryId(), userId,
+                patch.getCategoryId());
+        return rows.stream().findFirst();
+    }
+
+    private static Status status(String name) {
+        return name != null ? Status.valueOf(name) : null;
+    }
+
+    public record UpdatedTask(TaskResponse task, TaskState before) {
+    }
+
+    public record TaskState(Status status, Long categoryId) {
+    }
+
+    public record TaskVersion(long version) {
+    }
+
+    public record TaskReplacement(Long id, String title, String description, Status status, Long categoryId,
+                                  long expectedVersion) {
+    }
+}
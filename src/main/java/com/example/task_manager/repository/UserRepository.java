@@ -1,9 +1,36 @@
 package com.example.task_manager.repository;
 
+import com.example.task_manager.entity.Role;
 import com.example.task_manager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // keyset page over the unique email index; projections keep the rows out of the persistence context
+    List<UserSummary> findByEmailStartingWithAndEmailGreaterThanOrderByEmailAsc(String prefix, String after, Limit limit);
+
+    // forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserSummary> streamByEmailStartingWithOrderByEmailAsc(String prefix);
+
+    interface UserSummary {
+        Long getId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getEmail();
+
+        Role getRole();
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.task_manager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserRevisionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long increment(Long userId) {
+        return jdbcTemplate.queryForObject("""
+                insert into user_revision (user_id, revision) values (?, 1)
+                on conflict (user_id) do update set revision = user_revision.revision + 1
+                returning revision
+                """, Long.class, userId);
+    }
+
+    public long find(Long userId) {
+        List<Long> revision = jdbcTemplate.queryForList(
+                "select revision from user_revision where user_id = ?", Long.class, userId);
+        return revision.isEmpty() ? 0 : revision.get(0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.task_manager.security;
+
+import com.example.task_manager.entity.User;
+import com.example.task_manager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private final UserPrincipalCache userPrincipalCache;
+    private final UserRepository userRepository;
+
+    public AuthenticatedUser getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+        return userPrincipalCache.get(authentication.getName());
+    }
+
+    public Long getUserId() {
+        return getPrincipal().getId();
+    }
+
+    /**
+     * Returns an uninitialized proxy for the current user, good enough for setting
+     * associations without selecting the row.
+     */
+    public User getReference() {
+        return userRepository.getReferenceById(getUserId());
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.task_manager.security;
 
-import com.example.task_manager.entity.User;
 import com.example.task_manager.service.JwtService;
+import com.example.task_manager.service.TokenClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,9 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +21,7 @@ import java.io.IOException;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,7 +30,7 @@ public class JwtFilter extends OncePerRequestFilter {
         throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwtToken;
-        final String userEmail;
+        final TokenClaims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -41,20 +39,19 @@ public class JwtFilter extends OncePerRequestFilter {
 
         jwtToken = authHeader.substring(7);
         try {
-            userEmail = jwtService.extractUsername(jwtToken);
+            claims = jwtService.parse(jwtToken);
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails  userDetails = userDetailsService.loadUserByUsername(userEmail);
-            System.out.println("Extracted userEmail: " + userEmail);
-            if (userDetails != null && jwtService.isTokenValid(jwtToken, userDetails)) {
+        if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = resolvePrincipal(claims);
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -63,4 +60,23 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The token is trusted for identity only. Role and existence come from the
+     * TTL-bounded principal cache (a hit costs no query), so a deleted or demoted
+     * user loses access once their entry expires rather than when the token does.
+     */
+    private AuthenticatedUser resolvePrincipal(TokenClaims claims) {
+        AuthenticatedUser principal;
+        try {
+            principal = userPrincipalCache.get(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        // a token issued to an earlier account with the same email
+        if (claims.getUserId() != null && !claims.getUserId().equals(principal.getId())) {
+            return null;
+        }
+        return principal;
+    }
 }
@@ -0,0 +1,140 @@
+package com.example.task_manager.security;
+
+import com.example.task_manager.dto.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the API. Runs right after {@link JwtFilter}: authenticated
+ * callers are limited per email, everything else (including all of /api/auth/**)
+ * per client IP, with a tighter bucket. Expensive routes cost more than one token.
+ * Behind a trusted proxy the client IP comes from X-Forwarded-For, see
+ * {@code server.forward-headers-strategy}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // first matching prefix wins; anything else costs 1
+    private static final Map<String, Integer> ROUTE_WEIGHTS = new LinkedHashMap<>();
+
+    static {
+        ROUTE_WEIGHTS.put("/api/auth/login", 5);
+        ROUTE_WEIGHTS.put("/api/auth/register", 5);
+        ROUTE_WEIGHTS.put("/api/tasks/export", 20);
+        ROUTE_WEIGHTS.put("/api/tasks/batch", 10);
+        ROUTE_WEIGHTS.put("/api/tasks/filter", 5);
+        ROUTE_WEIGHTS.put("/api/tasks/search", 3);
+    }
+
+    private final TokenBucketLimiter userLimiter;
+    private final TokenBucketLimiter clientLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter userRejections;
+    private final Counter clientRejections;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.user.capacity:200}") long userCapacity,
+                           @Value("${rate-limit.user.refill-per-second:50}") double userRefill,
+                           @Value("${rate-limit.client.capacity:30}") long clientCapacity,
+                           @Value("${rate-limit.client.refill-per-second:1}") double clientRefill,
+                           @Value("${rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.objectMapper = objectMapper;
+        this.userLimiter = new TokenBucketLimiter(userCapacity, userRefill, maxBuckets, idleTimeout);
+        this.clientLimiter = new TokenBucketLimiter(clientCapacity, clientRefill, maxBuckets, idleTimeout);
+        this.userRejections = Counter.builder("http.server.requests.rate_limited")
+                .tag("key", "user")
+                .register(meterRegistry);
+        this.clientRejections = Counter.builder("http.server.requests.rate_limited")
+                .tag("key", "client")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.buckets", userLimiter, TokenBucketLimiter::size)
+                .tag("key", "user")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.buckets", clientLimiter, TokenBucketLimiter::size)
+                .tag("key", "client")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+        throws ServletException, IOException {
+        String path = request.getRequestURI();
+        int weight = weightOf(path);
+        String email = authenticatedEmail(path);
+
+        long waitNanos = email != null
+                ? userLimiter.tryAcquire(email, weight)
+                : clientLimiter.tryAcquire(request.getRemoteAddr(), weight);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        (email != null ? userRejections : clientRejections).increment();
+        reject(request, response, waitNanos);
+    }
+
+    private String authenticatedEmail(String path) {
+        if (path.startsWith("/api/auth/")) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getEmail();
+        }
+        return null;
+    }
+
+    private static int weightOf(String path) {
+        for (Map.Entry<String, Integer> route : ROUTE_WEIGHTS.entrySet()) {
+            if (path.startsWith(route.getKey())) {
+                return route.getValue();
+            }
+        }
+        return 1;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Rate limit exceeded, retry in " + retryAfter + "s",
+                request.getRequestURI()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.task_manager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets keyed by caller. Each bucket is a single CAS-updated state, so
+ * concurrent requests from one caller never take a lock. Buckets live in a bounded
+ * Caffeine cache and are dropped once idle; a dropped bucket comes back full, which
+ * is what an idle caller would have anyway.
+ */
+public class TokenBucketLimiter {
+
+    private final long capacity;
+    private final double refillPerNano;
+    private final Cache<String, Bucket> buckets;
+
+    public TokenBucketLimiter(long capacity, double refillPerSecond, long maxBuckets, Duration idleTimeout) {
+        // a bucket that never refills would lock a caller out for good, with no finite Retry-After
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate limit capacity and refill-per-second must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * @return 0 when {@code weight} tokens were taken, otherwise the nanoseconds until they will be available
+     */
+    public long tryAcquire(String key, int weight) {
+        double cost = Math.min(weight, capacity);
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, System.nanoTime()));
+        return bucket.tryAcquire(cost, capacity, refillPerNano, System.nanoTime());
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private static final class Bucket {
+
+        private record State(double tokens, long refilledAt) {
+        }
+
+        private final AtomicReference<State> state;
+
+        Bucket(double tokens, long now) {
+            this.state = new AtomicReference<>(new State(tokens, now));
+        }
+
+        long tryAcquire(double cost, long capacity, double refillPerNano, long now) {
+            while (true) {
+                State current = state.get();
+                long elapsed = Math.max(0, now - current.refilledAt());
+                double tokens = Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+                if (tokens < cost) {
+                    return (long) Math.ceil((cost - tokens) / refillPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - cost, Math.max(now, current.refilledAt())))) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.task_manager.security;
+
+import com.example.task_manager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email.
+ * Anything that changes a user's email or role must call {@link #evict(String)}.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public AuthenticatedUser get(String email) {
+        AuthenticatedUser principal = cache.getIfPresent(email);
+        if (principal != null) {
+            return principal;
+        }
+        // loaded outside Caffeine's compute so a virtual thread never blocks on JDBC
+        // while holding the map's bin lock (that would pin its carrier thread)
+        principal = load(email);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        cache.put(email, principal);
+        return principal;
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user-principals");
+    }
+
+    private AuthenticatedUser load(String email) {
+        return userRepository.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.UserPage;
+import com.example.task_manager.dto.UserResponse;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.repository.TaskCounterRepository;
+import com.example.task_manager.repository.TaskCounterRepository.UserStatusCount;
+import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.repository.UserRepository.UserSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Admin user listing. Pages are keyset-ordered by email so deep pages cost the same
+ * as the first one; task counts come from the task_counter aggregate in one grouped
+ * query per page.
+ */
+@Service
+public class AdminUserService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_CHUNK = 500;
+
+    private final UserRepository userRepository;
+    private final TaskCounterRepository taskCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AdminUserService(UserRepository userRepository,
+                            TaskCounterRepository taskCounterRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.taskCounterRepository = taskCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public UserPage getUsers(String emailPrefix, String cursor, int size, boolean withTaskCounts) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String after = cursor != null ? decodeCursor(cursor) : "";
+
+        List<UserSummary> rows = userRepository.findByEmailStartingWithAndEmailGreaterThanOrderByEmailAsc(
+                prefix(emailPrefix), after, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<UserResponse> content = toResponses(hasNext ? rows.subList(0, size) : rows, withTaskCounts);
+        String nextCursor = hasNext ? encodeCursor(content.get(size - 1).getEmail()) : null;
+        return new UserPage(content, content.size(), nextCursor);
+    }
+
+    public StreamingResponseBody export(String emailPrefix, boolean withTaskCounts) {
+        String prefix = prefix(emailPrefix);
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        // rows are handled a chunk at a time, so memory stays flat however many users there are
+        return out -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<UserSummary> users = userRepository.streamByEmailStartingWithOrderByEmailAsc(prefix);
+                 SequenceWriter sequence = writer.writeValues(out)) {
+                List<UserSummary> chunk = new ArrayList<>(EXPORT_CHUNK);
+                for (UserSummary user : (Iterable<UserSummary>) users::iterator) {
+                    chunk.add(user);
+                    if (chunk.size() == EXPORT_CHUNK) {
+                        writeChunk(sequence, chunk, withTaskCounts);
+                    }
+                }
+                writeChunk(sequence, chunk, withTaskCounts);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeChunk(SequenceWriter sequence, List<UserSummary> chunk, boolean withTaskCounts) throws IOException {
+        for (UserResponse user : toResponses(chunk, withTaskCounts)) {
+            sequence.write(user);
+        }
+        sequence.flush();
+        chunk.clear();
+    }
+
+    private List<UserResponse> toResponses(List<UserSummary> users, boolean withTaskCounts) {
+        Map<Long, Map<Status, Long>> counts = withTaskCounts ? taskCounts(users) : Map.of();
+        List<UserResponse> responses = new ArrayList<>(users.size());
+        for (UserSummary user : users) {
+            responses.add(UserResponse.builder()
+                    .id(user.getId())
+                    .firstName(user.getFirstName())
+                    .lastName(user.getLastName())
+                    .email(user.getEmail())
+                    .role(user.getRole().name())
+                    .taskCounts(withTaskCounts ? counts.getOrDefault(user.getId(), Map.of()) : null)
+                    .build());
+        }
+        return responses;
+    }
+
+    private Map<Long, Map<Status, Long>> taskCounts(List<UserSummary> users) {
+        Map<Long, Map<Status, Long>> counts = new HashMap<>();
+        List<Long> ids = users.stream().map(UserSummary::getId).toList();
+        for (UserStatusCount row : taskCounterRepository.countByStatusForUsers(ids)) {
+            counts.computeIfAbsent(row.userId(), id -> new EnumMap<>(Status.class)).put(row.status(), row.count());
+        }
+        return counts;
+    }
+
+    private static String prefix(String emailPrefix) {
+        return emailPrefix != null ? emailPrefix : "";
+    }
+
+    private static String encodeCursor(String email) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(email.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.repository.AuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves audit rows from the outbox to the partitioned audit_event table off the
+ * request path. While batches come back full it keeps draining, so a burst of
+ * writes is absorbed by the outbox and worked off at database speed.
+ */
+@Slf4j
+@Component
+public class AuditDrainer {
+
+    private final AuditRepository auditRepository;
+    private final Counter drained;
+    private final AtomicLong outboxDepth = new AtomicLong();
+
+    @Value("${audit.drain.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${audit.drain.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${audit.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    public AuditDrainer(AuditRepository auditRepository, MeterRegistry meterRegistry) {
+        this.auditRepository = auditRepository;
+        this.drained = Counter.builder("audit.drained")
+                .description("Audit rows moved from the outbox to audit_event")
+                .register(meterRegistry);
+        // as observed by the last drain run, so a scrape does not count(*) the outbox
+        Gauge.builder("audit.outbox.depth", outboxDepth, AtomicLong::get)
+                .description("Audit rows waiting to be drained, as of the last drain run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${audit.drain.interval-ms:500}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int moved = auditRepository.drain(batchSize);
+            drained.increment(moved);
+            if (moved < batchSize) {
+                outboxDepth.set(0);
+                return;
+            }
+        }
+        // only a backed-up outbox is worth counting
+        outboxDepth.set(auditRepository.outboxDepth());
+        log.warn("Audit outbox still backed up after {} batches of {}", maxBatchesPerRun, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.partitions.cron:0 0 3 * * *}")
+    @Transactional
+    public void createPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            auditRepository.ensurePartition(current.plusMonths(i));
+        }
+    }
+}
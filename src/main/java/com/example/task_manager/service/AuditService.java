@@ -0,0 +1,80 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.AuditEventResponse;
+import com.example.task_manager.repository.AuditRepository;
+import com.example.task_manager.security.CurrentUserProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records task and category mutations. Writes only append to audit_outbox inside the
+ * caller's transaction; {@link AuditDrainer} moves the rows to audit_event later.
+ */
+@Service
+public class AuditService {
+
+    public enum EntityType {
+        TASK,
+        CATEGORY
+    }
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final AuditRepository auditRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectWriter payloadWriter;
+
+    public AuditService(AuditRepository auditRepository, CurrentUserProvider currentUserProvider, ObjectMapper objectMapper) {
+        this.auditRepository = auditRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.payloadWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, EntityType type, Long entityId, Action action, Object payload) {
+        recordAll(userId, type, action, Collections.singletonMap(entityId, payload));
+    }
+
+    /**
+     * @param payloads entity id to its state after the change; a null value records no payload
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Long userId, EntityType type, Action action, Map<Long, ?> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        payloads.forEach((entityId, payload) ->
+                rows.add(new Object[]{userId, type.name(), entityId, action.name(), toJson(payload)}));
+        auditRepository.insertOutbox(rows);
+    }
+
+    public List<AuditEventResponse> history(EntityType type, Long entityId) {
+        return auditRepository.findHistory(type.name(), entityId, currentUserProvider.getUserId());
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return payloadWriter.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit payload", e);
+        }
+    }
+}
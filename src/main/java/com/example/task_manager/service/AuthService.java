@@ -7,11 +7,11 @@ import com.example.task_manager.dto.RegisterRequest;
 import com.example.task_manager.entity.Role;
 import com.example.task_manager.entity.User;
 import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -19,8 +19,9 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final UserPrincipalCache userPrincipalCache;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -30,10 +31,11 @@ public class AuthService {
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .role(Role.USER)
                 .build();
         userRepository.save(user);
+        userPrincipalCache.evict(user.getEmail());
         String token = jwtService.generateToken(user);
         return new AuthResponse(token);
     }
@@ -41,9 +43,14 @@ public class AuthService {
     public AuthResponse authenticate(AuthRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid credentials");
         }
+        if (passwordHashingService.needsUpgrade(user.getPassword())) {
+            // cost factor was raised since this hash was stored
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            userRepository.save(user);
+        }
         String token = jwtService.generateToken(user);
         return new AuthResponse(token);
     }
@@ -4,25 +4,39 @@ import com.example.task_manager.dto.CategoryRequest;
 import com.example.task_manager.dto.CategoryResponse;
 import com.example.task_manager.entity.Category;
 import com.example.task_manager.entity.User;
+import com.example.task_manager.event.TaskChangedEvent;
 import com.example.task_manager.repository.CategoryRepository;
-import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.repository.TaskWriteRepository;
+import com.example.task_manager.security.CurrentUserProvider;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "category.service", histogram = true)
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final UserRevisionService userRevisionService;
+    private final AuditService auditService;
+    private final TaskWriteRepository taskWriteRepository;
+    private final TaskCounterService taskCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public CategoryResponse createCategory(CategoryRequest categoryRequest) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email).orElseThrow();
+        User user = currentUserProvider.getReference();
 
         Category category = Category.builder()
                 .name(categoryRequest.getName())
@@ -31,37 +45,85 @@ public class CategoryService {
                 .build();
 
         categoryRepository.save(category);
+        userRevisionService.bump(user.getId());
 
-        return mapToResponse(category);
+        CategoryResponse response = mapToResponse(category, currentUserProvider.getPrincipal().getEmail());
+        auditService.record(user.getId(), AuditService.EntityType.CATEGORY, category.getId(), AuditService.Action.CREATED, response);
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email).orElseThrow();
+        User user = currentUserProvider.getReference();
 
         List<Category> categories = categoryRepository.findAllByUser(user);
-        return categories.stream().map(this::mapToResponse).toList();
+        String userEmail = currentUserProvider.getPrincipal().getEmail();
+        return categories.stream().map(category -> mapToResponse(category, userEmail)).toList();
     }
 
+    @Transactional
     public CategoryResponse updateCategory(Long id, CategoryRequest categoryRequest) {
-        Category category = categoryRepository.findById(id).orElseThrow();
+        Long userId = currentUserProvider.getUserId();
+        // ownership is part of the UPDATE: another user's category is simply not found
+        if (categoryRepository.updateByIdAndUserId(id, userId, categoryRequest.getName(), categoryRequest.getDescription()) == 0) {
+            throw new NoSuchElementException("Category not found");
+        }
+        long revision = userRevisionService.bump(userId);
+        // task responses carry the category name, so delta-sync clients must refetch them
+        if (taskWriteRepository.touchCategory(userId, id, revision) > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(userId, revision));
+        }
 
-        category.setName(categoryRequest.getName());
-        category.setDescription(categoryRequest.getDescription());
-        categoryRepository.save(category);
-        return mapToResponse(category);
+        CategoryResponse response = new CategoryResponse();
+        response.setId(id);
+        response.setName(categoryRequest.getName());
+        response.setDescription(categoryRequest.getDescription());
+        response.setUserEmail(currentUserProvider.getPrincipal().getEmail());
+        auditService.record(userId, AuditService.EntityType.CATEGORY, id, AuditService.Action.UPDATED, response);
+        return response;
     }
 
-    public void deleteCategory(Long id) {
-        categoryRepository.deleteById(id);
+    /**
+     * Deletes a category together with its task references in a fixed number of
+     * statements, however many tasks it has: the tasks (tombstones included) move to
+     * {@code reassignTo}, or become uncategorised when it is null.
+     */
+    @Transactional
+    public void deleteCategory(Long id, Long reassignTo) {
+        Long userId = currentUserProvider.getUserId();
+        if (reassignTo != null) {
+            if (reassignTo.equals(id)) {
+                throw new IllegalArgumentException("Cannot reassign tasks to the category being deleted");
+            }
+            categoryRepository.findByIdAndUserId(reassignTo, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Target category not found"));
+        }
+        long revision = userRevisionService.bump(userId);
+
+        // tasks first: the foreign key would reject the delete otherwise. Both statements are
+        // scoped to the user, so for someone else's category nothing moves and the delete finds nothing.
+        long moved = taskWriteRepository.reassignCategory(userId, id, reassignTo, revision, LocalDateTime.now());
+        if (categoryRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new NoSuchElementException("Category not found");
+        }
+        taskCounterService.categoryRemoved(userId, id, reassignTo);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reassignedTo", reassignTo);
+        payload.put("tasksMoved", moved);
+        auditService.record(userId, AuditService.EntityType.CATEGORY, id, AuditService.Action.DELETED, payload);
+        if (moved > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(userId, revision));
+        }
     }
 
-    private CategoryResponse mapToResponse(Category category) {
+    // the email comes from the cached principal; reading it off the user reference would load the row
+    private CategoryResponse mapToResponse(Category category, String userEmail) {
         CategoryResponse categoryResponse = new CategoryResponse();
         categoryResponse.setId(category.getId());
         categoryResponse.setName(category.getName());
         categoryResponse.setDescription(category.getDescription());
-        categoryResponse.setUserEmail(category.getUser().getEmail());
+        categoryResponse.setUserEmail(userEmail);
         return categoryResponse;
     }
 }
@@ -1,63 +1,140 @@
 package com.example.task_manager.service;
 
+import com.example.task_manager.entity.Role;
 import com.example.task_manager.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private  String secretKey;
 
+    @Value("${jwt.verified-cache.max-size:50000}")
+    private long verifiedCacheSize;
+
     //1 day
     private final long expiration = 86400000;
 
+    private Key signKey;
+    private JwtParser parser;
+    // SHA-256 of the compact token -> claims, kept until the token itself expires
+    private Cache<String, TokenClaims> verifiedTokens;
+    private Timer cachedParseTimer;
+    private Timer verifyTimer;
+
+    @PostConstruct
+    void init() {
+        signKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        Duration ttl = Duration.between(Instant.now(), claims.getExpiresAt());
+                        return ttl.isNegative() ? 0 : ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
+        cachedParseTimer = Timer.builder("auth.jwt.parse")
+                .tag("cache", "hit")
+                .register(meterRegistry);
+        verifyTimer = Timer.builder("auth.jwt.parse")
+                .tag("cache", "miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getEmail())
+                .claim("uid", user.getId())
                 .claim("role", user.getRole().name())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + this.expiration))
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
-    }
+    /**
+     * Verifies the token signature and expiry once and returns its claims. Tokens that
+     * were already verified are served from a bounded cache until they expire.
+     */
+    public TokenClaims parse(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            cachedParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String role = claims.get("role", String.class);
+        TokenClaims parsed = new TokenClaims(
+                claims.getSubject(),
+                claims.get("uid", Long.class),
+                role != null ? Role.valueOf(role) : null,
+                claims.getExpiration().toInstant()
+        );
+        verifiedTokens.put(digest, parsed);
+        verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return parsed;
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    public String extractUsername(String token) {
+        return parse(token).getSubject();
     }
 
-    private boolean isTokenExpired(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration()
-                .before(new Date());
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-
 }
@@ -0,0 +1,252 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.BatchItemResult;
+import com.example.task_manager.dto.BatchResponse;
+import com.example.task_manager.dto.TaskBatchUpdateRequest;
+import com.example.task_manager.dto.TaskRequest;
+import com.example.task_manager.dto.TaskResponse;
+import com.example.task_manager.entity.Category;
+import com.example.task_manager.entity.Task;
+import com.example.task_manager.entity.User;
+import com.example.task_manager.event.TaskChangedEvent;
+import com.example.task_manager.repository.CategoryRepository;
+import com.example.task_manager.repository.TaskRepository;
+import com.example.task_manager.repository.TaskRepository.TaskKey;
+import com.example.task_manager.repository.TaskWriteRepository;
+import com.example.task_manager.repository.TaskWriteRepository.TaskReplacement;
+import com.example.task_manager.security.CurrentUserProvider;
+import com.example.task_manager.service.TaskCounterService.CounterKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk variants of the task CRUD operations. Each call validates category ownership
+ * once per distinct category and writes everything in a single transaction, so
+ * Hibernate can send the statements as JDBC batches.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+
+    private final TaskRepository taskRepository;
+    private final CategoryRepository categoryRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TaskCounterService taskCounterService;
+    private final UserRevisionService userRevisionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditService auditService;
+    private final TaskWriteRepository taskWriteRepository;
+
+    @Value("${tasks.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Transactional
+    public BatchResponse createTasks(List<TaskRequest> requests) {
+        checkBatchSize(requests);
+        User user = currentUserProvider.getReference();
+        Map<Long, Category> categories = loadOwnedCategories(
+                requests.stream().map(TaskRequest::getCategoryId), user.getId());
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<Integer, Task> created = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                results[i] = BatchItemResult.failure(i, null, "Category not found");
+                continue;
+            }
+            created.put(i, Task.builder()
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .status(request.getStatus())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .user(user)
+                    .category(category)
+                    .build());
+        }
+
+        if (!created.isEmpty()) {
+            long revision = userRevisionService.bump(user.getId());
+            created.values().forEach(task -> task.setRevision(revision));
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(user.getId(), revision));
+        }
+        taskRepository.saveAll(created.values());
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        created.forEach((index, task) -> {
+            results[index] = BatchItemResult.success(index, task.getId());
+            deltas.merge(TaskCounterService.key(task), 1L, Long::sum);
+        });
+        taskCounterService.apply(user.getId(), deltas);
+        auditService.recordAll(user.getId(), AuditService.EntityType.TASK, AuditService.Action.CREATED,
+                snapshots(created.values(), currentUserProvider.getPrincipal().getEmail()));
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    /**
+     * Replaces the listed tasks in one version-guarded JDBC batch. An item whose task was
+     * changed concurrently, or whose {@code version} is stale, fails on its own; the rest
+     * of the batch still applies.
+     */
+    @Transactional
+    public BatchResponse updateTasks(List<TaskBatchUpdateRequest> requests) {
+        checkBatchSize(requests);
+        Long userId = currentUserProvider.getUserId();
+        Map<Long, Category> categories = loadOwnedCategories(
+                requests.stream().map(TaskBatchUpdateRequest::getCategoryId), userId);
+        Map<Long, Task> tasks = taskRepository.findAllByIdInAndUserId(
+                        requests.stream().map(TaskBatchUpdateRequest::getId).filter(Objects::nonNull).collect(Collectors.toSet()),
+                        userId)
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<TaskReplacement> replacements = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskBatchUpdateRequest request = requests.get(i);
+            Task task = tasks.get(request.getId());
+            if (task == null) {
+                results[i] = BatchItemResult.failure(i, request.getId(), "Task not found");
+                continue;
+            }
+            if (categories.get(request.getCategoryId()) == null) {
+                results[i] = BatchItemResult.failure(i, request.getId(), "Category not found");
+                continue;
+            }
+            if (request.getVersion() != null && !request.getVersion().equals(task.getVersion())) {
+                results[i] = conflict(i, task);
+                continue;
+            }
+            pendingIndexes.add(i);
+            // without a client version, still guard against a write since the tasks were loaded
+            replacements.add(new TaskReplacement(task.getId(), request.getTitle(), request.getDescription(),
+                    request.getStatus(), request.getCategoryId(), task.getVersion()));
+        }
+
+        if (!replacements.isEmpty()) {
+            long revision = userRevisionService.bump(userId);
+            LocalDateTime now = LocalDateTime.now();
+            boolean[] written = taskWriteRepository.replaceAll(userId, replacements, revision, now);
+
+            Map<CounterKey, Long> deltas = new HashMap<>();
+            List<Task> updated = new ArrayList<>();
+            for (int p = 0; p < replacements.size(); p++) {
+                int index = pendingIndexes.get(p);
+                TaskReplacement replacement = replacements.get(p);
+                Task before = tasks.get(replacement.id());
+                if (!written[p]) {
+                    results[index] = BatchItemResult.failure(index, before.getId(), "Task was modified concurrently");
+                    continue;
+                }
+                // a detached copy: the loaded entities are stale now and must not be flushed
+                Task after = Task.builder()
+                        .id(before.getId())
+                        .title(replacement.title())
+                        .description(replacement.description())
+                        .status(replacement.status())
+                        .category(categories.get(replacement.categoryId()))
+                        .createdAt(before.getCreatedAt())
+                        .updatedAt(now)
+                        .revision(revision)
+                        .version(replacement.expectedVersion() + 1)
+                        .build();
+                deltas.merge(TaskCounterService.key(before), -1L, Long::sum);
+                deltas.merge(TaskCounterService.key(after), 1L, Long::sum);
+                updated.add(after);
+                results[index] = BatchItemResult.success(index, after.getId());
+            }
+            if (!updated.isEmpty()) {
+                taskCounterService.apply(userId, deltas);
+                auditService.recordAll(userId, AuditService.EntityType.TASK, AuditService.Action.UPDATED,
+                        snapshots(updated, currentUserProvider.getPrincipal().getEmail()));
+                eventPublisher.publishEvent(TaskChangedEvent.bulk(userId, revision));
+            }
+        }
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @Transactional
+    public BatchResponse deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        Long userId = currentUserProvider.getUserId();
+        List<TaskKey> found = taskRepository.findKeysByIdInAndUserId(
+                ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()), userId);
+        Set<Long> owned = new HashSet<>();
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        for (TaskKey key : found) {
+            owned.add(key.getId());
+            deltas.merge(new CounterKey(key.getStatus(), key.getCategoryId()), -1L, Long::sum);
+        }
+        if (!owned.isEmpty()) {
+            long revision = userRevisionService.bump(userId);
+            taskRepository.markDeleted(owned, userId, revision, LocalDateTime.now());
+            taskCounterService.apply(userId, deltas);
+            Map<Long, Object> tombstones = new LinkedHashMap<>();
+            owned.forEach(id -> tombstones.put(id, null));
+            auditService.recordAll(userId, AuditService.EntityType.TASK, AuditService.Action.DELETED, tombstones);
+            eventPublisher.publishEvent(TaskChangedEvent.bulk(userId, revision));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(owned.contains(id)
+                    ? BatchItemResult.success(i, id)
+                    : BatchItemResult.failure(i, id, "Task not found"));
+        }
+        return BatchResponse.of(results);
+    }
+
+    private static BatchItemResult conflict(int index, Task task) {
+        return BatchItemResult.failure(index, task.getId(),
+                "Task was modified concurrently; current version is " + task.getVersion());
+    }
+
+    private static Map<Long, TaskResponse> snapshots(Collection<Task> tasks, String userEmail) {
+        Map<Long, TaskResponse> snapshots = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            snapshots.put(task.getId(), TaskResponse.builder()
+                    .id(task.getId())
+                    .title(task.getTitle())
+                    .description(task.getDescription())
+                    .status(task.getStatus())
+                    .userEmail(userEmail)
+                    .categoryName(task.getCategory() != null ? task.getCategory().getName() : null)
+                    .createdAt(task.getCreatedAt())
+                    .updatedAt(task.getUpdatedAt())
+                    .version(task.getVersion())
+                    .build());
+        }
+        return snapshots;
+    }
+
+    private Map<Long, Category> loadOwnedCategories(Stream<Long> categoryIds, Long userId) {
+        Set<Long> distinct = categoryIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        return categoryRepository.findAllByIdInAndUserId(distinct, userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must not be empty");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size exceeds " + maxBatchSize);
+        }
+    }
+}
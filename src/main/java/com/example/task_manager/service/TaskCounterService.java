@@ -0,0 +1,121 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.CategoryCount;
+import com.example.task_manager.dto.TaskCounterDrift;
+import com.example.task_manager.dto.TaskSummaryResponse;
+import com.example.task_manager.entity.Category;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.entity.Task;
+import com.example.task_manager.repository.TaskCounterRepository;
+import com.example.task_manager.repository.TaskCounterRepository.StatusCategoryCount;
+import com.example.task_manager.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Keeps the per-user task_counter aggregate in step with task writes. Every method that
+ * changes counts must run inside the transaction that changes the tasks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCounterService {
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskCreated(Long userId, Status status, Long categoryId) {
+        taskCounterRepository.add(userId, status, categoryId, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(Long userId, Status status, Long categoryId) {
+        taskCounterRepository.add(userId, status, categoryId, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskMoved(Long userId, Status oldStatus, Long oldCategoryId, Status newStatus, Long newCategoryId) {
+        if (oldStatus == newStatus && Objects.equals(oldCategoryId, newCategoryId)) {
+            return;
+        }
+        // one batched round trip for both rows
+        taskCounterRepository.addAll(List.of(
+                new Object[]{userId, oldStatus != null ? oldStatus.name() : null, oldCategoryId, -1L},
+                new Object[]{userId, newStatus != null ? newStatus.name() : null, newCategoryId, 1L}));
+    }
+
+    /**
+     * Folds the counters of a deleted category into {@code toCategoryId} ({@code null} for uncategorised).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void categoryRemoved(Long userId, Long fromCategoryId, Long toCategoryId) {
+        taskCounterRepository.moveCategory(userId, fromCategoryId, toCategoryId);
+    }
+
+    /**
+     * Applies many changes at once; {@code deltas} is keyed by (status, categoryId).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Map<CounterKey, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[]{userId, key.status() != null ? key.status().name() : null, key.categoryId(), delta});
+            }
+        });
+        if (!rows.isEmpty()) {
+            taskCounterRepository.addAll(rows);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSummaryResponse getSummary() {
+        Long userId = currentUserProvider.getUserId();
+
+        long total = 0;
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<Long, CategoryCount> byCategory = new LinkedHashMap<>();
+        for (StatusCategoryCount row : taskCounterRepository.findByUserId(userId)) {
+            total += row.count();
+            if (row.status() != null) {
+                byStatus.merge(row.status(), row.count(), Long::sum);
+            }
+            CategoryCount categoryCount = byCategory.computeIfAbsent(
+                    row.categoryId(), id -> new CategoryCount(id, row.categoryName(), 0));
+            categoryCount.setCount(categoryCount.getCount() + row.count());
+        }
+        return new TaskSummaryResponse(total, byStatus, new ArrayList<>(byCategory.values()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskCounterDrift> findDrift() {
+        return taskCounterRepository.findDrift();
+    }
+
+    @Transactional
+    public List<TaskCounterDrift> repairDrift() {
+        List<TaskCounterDrift> drift = taskCounterRepository.findDrift();
+        drift.stream()
+                .map(TaskCounterDrift::getUserId)
+                .distinct()
+                .forEach(taskCounterRepository::rebuildForUser);
+        if (!drift.isEmpty()) {
+            log.warn("Rebuilt task counters for {} drifted rows", drift.size());
+        }
+        return drift;
+    }
+
+    public static CounterKey key(Task task) {
+        Category category = task.getCategory();
+        return new CounterKey(task.getStatus(), category != null ? category.getId() : null);
+    }
+
+    public record CounterKey(Status status, Long categoryId) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.dto.TaskResponse;
+import com.example.task_manager.repository.TaskRepository;
+import com.example.task_manager.security.CurrentUserProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's tasks row by row from a database cursor straight into the
+ * response, so memory use does not depend on how many tasks the user has.
+ */
+@Service
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TaskRepository taskRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TaskExportService(TaskRepository taskRepository,
+                             CurrentUserProvider currentUserProvider,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody export(String format) {
+        if (!format.equals("ndjson") && !format.equals("csv")) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        // resolved on the request thread, the body is written on an async one
+        Long userId = currentUserProvider.getUserId();
+        return out -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUserId(userId)) {
+                if (format.equals("csv")) {
+                    writeCsv(tasks.iterator(), out);
+                } else {
+                    writeNdjson(tasks.iterator(), out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Iterator<TaskResponse> tasks, OutputStream out) throws IOException {
+        // the servlet stream belongs to StreamingResponseBody; closing the sequence must not close it
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            int count = 0;
+            while (tasks.hasNext()) {
+                sequence.write(tasks.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TaskResponse> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,title,description,status,userEmail,categoryName,createdAt,updatedAt\n");
+        int count = 0;
+        while (tasks.hasNext()) {
+            TaskResponse task = tasks.next();
+            writer.write(String.join(",",
+                    String.valueOf(task.getId()),
+                    csv(task.getTitle()),
+                    csv(task.getDescription()),
+                    csv(task.getStatus()),
+                    csv(task.getUserEmail()),
+                    csv(task.getCategoryName()),
+                    csv(task.getCreatedAt()),
+                    csv(task.getUpdatedAt())));
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,36 +1,67 @@
 package com.example.task_manager.service;
 
+import com.example.task_manager.dto.AuditEventResponse;
+import com.example.task_manager.dto.TaskChange;
+import com.example.task_manager.dto.TaskChangesResponse;
+import com.example.task_manager.dto.TaskCursor;
+import com.example.task_manager.dto.TaskCursorPage;
+import com.example.task_manager.dto.TaskFilter;
+import com.example.task_manager.dto.TaskPatchRequest;
 import com.example.task_manager.dto.TaskRequest;
 import com.example.task_manager.dto.TaskResponse;
+import com.example.task_manager.dto.TaskStatusRequest;
 import com.example.task_manager.entity.Category;
 import com.example.task_manager.entity.Status;
 import com.example.task_manager.entity.Task;
 import com.example.task_manager.entity.User;
+import com.example.task_manager.event.TaskChangedEvent;
 import com.example.task_manager.repository.CategoryRepository;
+import com.example.task_manager.repository.TaskChangeRepository;
 import com.example.task_manager.repository.TaskRepository;
-import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.repository.TaskSearchRepository;
+import com.example.task_manager.repository.TaskSpecifications;
+import com.example.task_manager.repository.TaskWriteRepository;
+import com.example.task_manager.repository.TaskWriteRepository.TaskState;
+import com.example.task_manager.repository.TaskWriteRepository.TaskVersion;
+import com.example.task_manager.repository.TaskWriteRepository.UpdatedTask;
+import com.example.task_manager.security.CurrentUserProvider;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "task.service", histogram = true)
 public class TaskService {
 
     private final TaskRepository taskRepository;
-    private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final TaskCounterService taskCounterService;
+    private final UserRevisionService userRevisionService;
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskSearchRepository taskSearchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditService auditService;
+    private final TaskWriteRepository taskWriteRepository;
 
-    public TaskResponse createTask(TaskRequest request) throws AccessDeniedException {
-        User user = getCurrentUser();
-        Category category = checkCategoryOwnership(request.getCategoryId(), user);
+    @Transactional
+    public TaskResponse createTask(TaskRequest request) {
+        User user = currentUserProvider.getReference();
+        Category category = findOwnedCategory(request.getCategoryId(), user.getId());
 
         Task task = Task.builder()
                 .title(request.getTitle())
@@ -40,100 +71,210 @@ public class TaskService {
                 .updatedAt(LocalDateTime.now())
                 .user(user)
                 .category(category)
+                .revision(userRevisionService.bump(user.getId()))
                 .build();
 
         taskRepository.save(task);
+        taskCounterService.taskCreated(user.getId(), task.getStatus(), category.getId());
 
-        return mapToResponse(task);
+        TaskResponse response = mapToResponse(task, currentUserProvider.getPrincipal().getEmail());
+        auditService.record(user.getId(), AuditService.EntityType.TASK, task.getId(), AuditService.Action.CREATED, response);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, user.getId(), task.getRevision(), response));
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasks(Status status) {
-        User  user = getCurrentUser();
+        Long userId = currentUserProvider.getUserId();
 
-        List<Task> tasks = (status != null)
-                ? taskRepository.findAllByUserIdAndStatus(user.getId(), status)
-                : taskRepository.findAllByUserId(user.getId());
+        return (status != null)
+                ? taskRepository.findResponsesByUserIdAndStatus(userId, status)
+                : taskRepository.findResponsesByUserId(userId);
+    }
 
-        return tasks.stream().map(this::mapToResponse).toList();
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long id) {
+        return taskRepository.findResponseByIdAndUserId(id, currentUserProvider.getUserId())
+                .orElseThrow();
     }
 
-    public TaskResponse getTaskById(Long id) throws AccessDeniedException {
-        Task task = taskRepository.findById(id).orElseThrow();
-        checkTaskOwnership(task);
-        return mapToResponse(task);
+    /**
+     * Replaces every field of the task. When a version is supplied (If-Match or body) a
+     * stale one is rejected as in {@link #patchTask}; without one the last writer wins,
+     * which is what clients that predate versioning rely on.
+     */
+    @Transactional
+    public TaskResponse updateTask(Long id, TaskRequest request, Long ifMatchVersion) {
+        if (request.getCategoryId() == null) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        Long expectedVersion = ifMatchVersion != null ? ifMatchVersion : request.getVersion();
+        TaskPatchRequest replacement = new TaskPatchRequest(request.getTitle(), request.getDescription(),
+                request.getStatus(), request.getCategoryId(), expectedVersion);
+        Long userId = currentUserProvider.getUserId();
+        long revision = userRevisionService.bump(userId);
+
+        UpdatedTask updated = taskWriteRepository.updateByIdAndUserId(id, userId, expectedVersion, replacement, revision, LocalDateTime.now())
+                .orElseThrow(() -> updateFailure(id, userId, expectedVersion, request.getCategoryId(), ifMatchVersion != null));
+        return afterUpdate(userId, revision, updated, request.getCategoryId());
     }
 
-    public TaskResponse updateTask(Long id, TaskRequest request) throws AccessDeniedException {
-        Task task = taskRepository.findById(id).orElseThrow();
-        checkTaskOwnership(task);
-        Category category = checkCategoryOwnership(request.getCategoryId(), task.getUser());
+    /**
+     * Applies the non-null fields of {@code request} in a single conditional UPDATE.
+     * {@code ifMatchVersion} takes precedence over the version in the body; a stale
+     * version is a 412 when it came from If-Match and a 409 otherwise.
+     */
+    @Transactional
+    public TaskResponse patchTask(Long id, TaskPatchRequest request, Long ifMatchVersion) {
+        Long expectedVersion = ifMatchVersion != null ? ifMatchVersion : request.getVersion();
+        if (expectedVersion == null) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "Task version is required");
+        }
+        Long userId = currentUserProvider.getUserId();
+        long revision = userRevisionService.bump(userId);
 
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus());
-        task.setUpdatedAt(LocalDateTime.now());
-        task.setCategory(category);
+        UpdatedTask updated = taskWriteRepository.patchByIdAndUserId(id, userId, expectedVersion, request, revision, LocalDateTime.now())
+                .orElseThrow(() -> updateFailure(id, userId, expectedVersion, request.getCategoryId(), ifMatchVersion != null));
+        return afterUpdate(userId, revision, updated, request.getCategoryId());
+    }
 
-        taskRepository.save(task);
+    @Transactional
+    public TaskResponse changeStatus(Long id, TaskStatusRequest request, Long ifMatchVersion) {
+        if (request.getStatus() == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        return patchTask(id, new TaskPatchRequest(null, null, request.getStatus(), null, request.getVersion()), ifMatchVersion);
+    }
 
-        return mapToResponse(task);
+    @Transactional
+    public void deleteTask(Long id) {
+        Long userId = currentUserProvider.getUserId();
+        long revision = userRevisionService.bump(userId);
+        // soft delete: the row stays as a tombstone for /api/tasks/changes
+        TaskState deleted = taskWriteRepository.deleteByIdAndUserId(id, userId, revision, LocalDateTime.now())
+                .orElseThrow();
+        taskCounterService.taskDeleted(userId, deleted.status(), deleted.categoryId());
+        auditService.record(userId, AuditService.EntityType.TASK, id, AuditService.Action.DELETED, null);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, revision, id));
     }
 
-    public void deleteTask(Long id) throws AccessDeniedException {
-        Task task = taskRepository.findById(id).orElseThrow();
-        checkTaskOwnership(task);
-        taskRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    public List<AuditEventResponse> getTaskHistory(Long id) {
+        return auditService.history(AuditService.EntityType.TASK, id);
     }
 
-    public List<TaskResponse> filterTask(Status status, Long categoryId, LocalDateTime createdBefore) {
-        User user = getCurrentUser();
+    @Transactional(readOnly = true)
+    public List<TaskResponse> filterTask(TaskFilter filter, Sort sort) {
+        Long userId = currentUserProvider.getUserId();
 
-        return taskRepository.findAll().stream()
-                .filter(task -> task.getUser().equals(user))
-                .filter(task -> status == null || task.getStatus() == status)
-                .filter(task -> categoryId == null || task.getCategory().getId().equals(categoryId))
-                .filter(task -> createdBefore == null || task.getCreatedAt().isBefore(createdBefore))
-                .map(this::mapToResponse)
+        String userEmail = currentUserProvider.getPrincipal().getEmail();
+
+        return taskRepository.findAll(TaskSpecifications.forUser(userId, filter), sort).stream()
+                .map(task -> mapToResponse(task, userEmail))
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> filterTaskPaged(TaskFilter filter, Pageable pageable) {
+        Long userId = currentUserProvider.getUserId();
+
+        String userEmail = currentUserProvider.getPrincipal().getEmail();
+
+        return taskRepository.findAll(TaskSpecifications.forUser(userId, filter), pageable)
+                .map(task -> mapToResponse(task, userEmail));
+    }
+
+    @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksPaged(Pageable pageable) {
-        User user = getCurrentUser();
+        Long userId = currentUserProvider.getUserId();
 
-        return taskRepository.findAllByUserId(user.getId(), pageable)
-                .map(this::mapToResponse);
+        return taskRepository.findResponsesByUserId(userId, pageable);
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    @Transactional(readOnly = true)
+    public TaskCursorPage getTasksByCursor(TaskCursor cursor, int size) {
+        Long userId = currentUserProvider.getUserId();
+
+        List<TaskResponse> rows = taskRepository.findResponsesAfter(userId, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TaskResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursor.next(content.get(size - 1)).encode() : null;
+        return new TaskCursorPage(content, content.size(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(long since, Long afterId, int limit) {
+        Long userId = currentUserProvider.getUserId();
+
+        List<TaskChange> rows = taskChangeRepository.findChanges(userId, since, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<TaskChange> changes = hasMore ? rows.subList(0, limit) : rows;
+        if (changes.isEmpty()) {
+            return new TaskChangesResponse(changes, since, afterId, false);
+        }
+        TaskChange last = changes.get(changes.size() - 1);
+        return new TaskChangesResponse(changes, last.getRevision(), last.getId(), hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> searchTasks(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        Long userId = currentUserProvider.getUserId();
+
+        List<TaskResponse> rows = taskSearchRepository.search(
+                userId, query, pageable.getPageSize() + 1, pageable.getOffset());
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<TaskResponse> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    // every task mapped here belongs to the caller, so the email comes from the cached principal
+    private TaskResponse mapToResponse(Task task, String userEmail) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
                 .status(task.getStatus())
-                .userEmail(task.getUser().getEmail())
-                .categoryName(task.getCategory().getName())
+                .userEmail(userEmail)
+                .categoryName(task.getCategory() != null ? task.getCategory().getName() : null)
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .build();
     }
 
-    private void checkTaskOwnership(Task task) throws AccessDeniedException {
-        if (!task.getUser().getEmail().equals(getCurrentUser().getEmail())) {
-            throw new AccessDeniedException("You are not allowed to modify this task");
-        }
+    private TaskResponse afterUpdate(Long userId, long revision, UpdatedTask updated, Long newCategoryId) {
+        TaskResponse response = updated.task();
+        TaskState before = updated.before();
+        taskCounterService.taskMoved(userId, before.status(), before.categoryId(), response.getStatus(),
+                newCategoryId != null ? newCategoryId : before.categoryId());
+        auditService.record(userId, AuditService.EntityType.TASK, response.getId(), AuditService.Action.UPDATED, response);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, userId, revision, response));
+        return response;
     }
 
-    private Category checkCategoryOwnership(Long categoryId, User user) throws AccessDeniedException {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
-        if (!category.getUser().equals(user)) {
-            throw new AccessDeniedException("You are not allowed to use this category");
+    // the UPDATE matched nothing; work out why without having paid for a SELECT on the happy path.
+    // Tasks of other users look exactly like missing ones.
+    private RuntimeException updateFailure(Long id, Long userId, Long expectedVersion, Long categoryId, boolean fromIfMatch) {
+        TaskVersion current = taskWriteRepository.findVersionByIdAndUserId(id, userId)
+                .orElseThrow();
+        if (expectedVersion != null && current.version() != expectedVersion) {
+            return new ResponseStatusException(fromIfMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT,
+                    "Task was modified concurrently; current version is " + current.version());
         }
-        return category;
+        if (categoryId != null) {
+            return new IllegalArgumentException("Category not found");
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified concurrently");
     }
 
-    private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email).orElseThrow();
+    private Category findOwnedCategory(Long categoryId, Long userId) {
+        if (categoryId == null) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        return categoryRepository.findByIdAndUserId(categoryId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
     }
 }
@@ -0,0 +1,20 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class TokenClaims {
+    private final String subject;
+    private final Long userId;
+    private final Role role;
+    private final Instant expiresAt;
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.task_manager.service;
+
+import com.example.task_manager.repository.UserRevisionRepository;
+import com.example.task_manager.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-user version stamp over all of a user's tasks and categories. Any write to
+ * either must call {@link #bump(Long)} inside its transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserRevisionService {
+
+    private final UserRevisionRepository userRevisionRepository;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(Long userId) {
+        return userRevisionRepository.increment(userId);
+    }
+
+    // read-only, so it is routed like the reads whose ETag it stamps
+    @Transactional(readOnly = true)
+    public long current() {
+        return userRevisionRepository.find(currentUserProvider.getUserId());
+    }
+}
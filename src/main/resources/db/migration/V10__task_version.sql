@@ -0,0 +1,2 @@
+-- Optimistic locking for Task (@Version); PATCH updates compare it in their WHERE clause.
+alter table task add column version bigint not null default 0;
@@ -0,0 +1,13 @@
+-- Tasks that existed before V6 kept the column default revision 0, which the changes
+-- feed (revision > since, since >= 0) never returns. Give them a fresh revision per user
+-- and advance user_revision to it, so both new and already-synced clients pick them up.
+with bumped as (
+    insert into user_revision (user_id, revision)
+    select distinct user_id, 1 from task where revision = 0 and user_id is not null
+    on conflict (user_id) do update set revision = user_revision.revision + 1
+    returning user_id, revision
+)
+update task t
+set revision = b.revision
+from bumped b
+where t.user_id = b.user_id and t.revision = 0;
@@ -0,0 +1,8 @@
+-- Keyset cursors seek on (user_id, created_at, id) and (user_id, updated_at, id). With the
+-- columns non-null the seek is a plain row-value range with no null branch, and the
+-- order matches the indexes in both directions. The application always sets both.
+update task set created_at = coalesce(updated_at, now()) where created_at is null;
+update task set updated_at = created_at where updated_at is null;
+
+alter table task alter column created_at set not null;
+alter table task alter column updated_at set not null;
@@ -0,0 +1,4 @@
+-- Catches audit rows for months whose partition was not created in time (a missed
+-- maintenance run), so draining never fails on a missing partition. AuditRepository
+-- moves such rows out when it creates the month's partition.
+create table if not exists audit_event_default partition of audit_event default;
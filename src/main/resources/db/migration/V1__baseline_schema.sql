@@ -0,0 +1,29 @@
+-- Schema as previously generated by hibernate ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+create table users (
+    id         bigint generated by default as identity primary key,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255) unique,
+    password   varchar(255),
+    role       varchar(255)
+);
+
+create table category (
+    id          bigint generated by default as identity primary key,
+    name        varchar(255) unique,
+    description varchar(255),
+    user_id     bigint references users (id)
+);
+
+create table task (
+    id          bigint generated by default as identity primary key,
+    title       varchar(255),
+    description varchar(255),
+    status      varchar(255),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    user_id     bigint references users (id) on delete cascade,
+    category_id bigint references category (id)
+);
@@ -0,0 +1,9 @@
+-- Every task query is scoped to one user; the trailing id keeps ties ordered
+-- for paging and keyset cursors.
+create index if not exists idx_task_user_id on task (user_id, id);
+create index if not exists idx_task_user_status on task (user_id, status, id);
+create index if not exists idx_task_user_created_at on task (user_id, created_at, id);
+create index if not exists idx_task_user_updated_at on task (user_id, updated_at, id);
+create index if not exists idx_task_category on task (category_id);
+
+create index if not exists idx_category_user on category (user_id);
@@ -0,0 +1,4 @@
+-- Task ids come from a pooled sequence (allocationSize = 50) so Hibernate can batch inserts.
+-- Start past the current max id; the pooled optimizer hands out (value - 49 .. value].
+create sequence if not exists task_seq increment by 50;
+select setval('task_seq', coalesce(max(id), 0) + 50, false) from task;
@@ -0,0 +1,15 @@
+-- Per-user task counts by (status, category), maintained in the same transaction as task writes.
+-- category_id has no foreign key: counters for a deleted category are moved by the service.
+create table task_counter (
+    user_id     bigint not null references users (id) on delete cascade,
+    status      varchar(255),
+    category_id bigint,
+    task_count  bigint not null default 0,
+    constraint uq_task_counter unique nulls not distinct (user_id, status, category_id)
+);
+
+insert into task_counter (user_id, status, category_id, task_count)
+select user_id, status, category_id, count(*)
+from task
+where user_id is not null
+group by user_id, status, category_id;
@@ -0,0 +1,9 @@
+-- Per-user data revision, bumped by every task/category write; used for ETags.
+-- Kept out of the users table so bumping it does not touch the cached User entity.
+create table user_revision (
+    user_id  bigint primary key references users (id) on delete cascade,
+    revision bigint not null default 0
+);
+
+insert into user_revision (user_id, revision)
+select id, 0 from users;
@@ -0,0 +1,6 @@
+-- Each task records the per-user revision of its last write; deletes become tombstones
+-- so /api/tasks/changes can report them.
+alter table task add column revision bigint not null default 0;
+alter table task add column deleted boolean not null default false;
+
+create index if not exists idx_task_user_revision on task (user_id, revision, id);
@@ -0,0 +1,22 @@
+-- Runs outside a transaction (see the .conf file): the backfill commits every batch so
+-- no long-lived lock or transaction builds up, and the index is built concurrently.
+do $$
+declare
+    max_id  bigint;
+    from_id bigint := 0;
+begin
+    select coalesce(max(id), 0) into max_id from task;
+    -- rows inserted after this point already get their vector from the trigger
+    while from_id < max_id loop
+        update task
+        set search_vector =
+                setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        where id > from_id and id <= from_id + 10000 and search_vector is null;
+        from_id := from_id + 10000;
+        commit;
+    end loop;
+end $$;
+
+-- user_id first so a search only visits the caller's postings
+create index concurrently if not exists idx_task_search on task using gin (user_id, search_vector);
@@ -0,0 +1,18 @@
+-- Full-text search over title and description. A plain nullable column is added without
+-- rewriting the table (a stored generated column would rewrite it under an exclusive lock);
+-- a trigger keeps it current, and V7_1 backfills existing rows and builds the index.
+create extension if not exists btree_gin;
+
+alter table task add column search_vector tsvector;
+
+create function task_search_vector() returns trigger language plpgsql as $$
+begin
+    new.search_vector :=
+        setweight(to_tsvector('simple', coalesce(new.title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(new.description, '')), 'B');
+    return new;
+end $$;
+
+create trigger task_search_vector
+    before insert or update of title, description on task
+    for each row execute function task_search_vector();
@@ -0,0 +1,35 @@
+-- Audit trail. Mutations are written to audit_outbox inside their own transaction;
+-- AuditDrainer moves them in batches to the append-only, monthly partitioned audit_event.
+create table audit_outbox (
+    id          bigserial primary key,
+    user_id     bigint not null,
+    entity_type varchar(32) not null,
+    entity_id   bigint not null,
+    action      varchar(32) not null,
+    payload     jsonb,
+    created_at  timestamptz not null default now()
+);
+
+create table audit_event (
+    id          bigint not null,
+    user_id     bigint not null,
+    entity_type varchar(32) not null,
+    entity_id   bigint not null,
+    action      varchar(32) not null,
+    payload     jsonb,
+    created_at  timestamptz not null,
+    primary key (id, created_at)
+) partition by range (created_at);
+
+create index idx_audit_event_entity on audit_event (entity_type, entity_id, created_at);
+
+do $$
+declare
+    month_start date;
+begin
+    for i in 0..2 loop
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        execute format('create table if not exists audit_event_%s partition of audit_event for values from (%L) to (%L)',
+                       to_char(month_start, 'YYYY_MM'), month_start, (month_start + interval '1 month')::date);
+    end loop;
+end $$;
@@ -0,0 +1,2 @@
+-- Email prefix search (email like 'abc%') cannot use the unique index under a non-C collation.
+create index idx_users_email_pattern on users (email varchar_pattern_ops);
@@ -0,0 +1,35 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.dto.CategoryRequest;
+import com.example.task_manager.support.ApiTestSupport;
+import com.example.task_manager.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Creating a category must not load the owning user: the response email comes from
+ * the authenticated principal.
+ */
+class CategoryCreateTests extends ApiTestSupport {
+
+    @Test
+    void createDoesNotLoadTheUser() throws Exception {
+        TestUser user = createUser();
+        // loads the principal into the principal cache
+        perform(as(user, get("/api/category")));
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Created " + user.id());
+        request.setDescription("created");
+
+        int statements = StatementCounter.count(() -> {
+            String email = perform(json(user, post("/api/category"), request)).get("userEmail").asText();
+            assertThat(email).isEqualTo(user.email());
+        });
+
+        // insert, revision bump, audit
+        assertThat(statements).isEqualTo(3);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.support.ApiTestSupport;
+import com.example.task_manager.support.StatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Deleting a category moves its tasks with one set-based statement, whatever their
+ * number, and the tasks left without a category still list and filter normally.
+ */
+class CategoryDeleteTests extends ApiTestSupport {
+
+    @Test
+    void deleteWithoutReassignUsesOneStatementForAllTasks() throws Exception {
+        int few = deleteStatements(5, false);
+        int many = deleteStatements(50, false);
+
+        assertThat(many).isEqualTo(few);
+        // bump, reassign tasks, delete category, move counters, audit
+        assertThat(many).isEqualTo(5);
+    }
+
+    @Test
+    void deleteWithReassignUsesOneStatementForAllTasks() throws Exception {
+        int few = deleteStatements(5, true);
+        int many = deleteStatements(50, true);
+
+        assertThat(many).isEqualTo(few);
+        // plus the ownership check of the target category
+        assertThat(many).isEqualTo(6);
+    }
+
+    @Test
+    void uncategorisedTasksStillListAndFilter() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Doomed " + user.id());
+        List<Long> taskIds = createTasks(user, categoryId, 4);
+
+        mockMvc.perform(as(user, delete("/api/category/{id}", categoryId)))
+                .andExpect(status().isOk());
+
+        JsonNode all = perform(as(user, get("/api/tasks")));
+        JsonNode filtered = perform(as(user, get("/api/tasks/filter").param("status", "TODO")));
+        JsonNode paged = perform(as(user, get("/api/tasks/filter/paged").param("size", "10"))).get("content");
+
+        assertThat(ids(all)).containsExactlyInAnyOrderElementsOf(taskIds);
+        assertThat(ids(filtered)).hasSize(2).isSubsetOf(taskIds);
+        assertThat(ids(paged)).containsExactlyInAnyOrderElementsOf(taskIds);
+        for (JsonNode tasks : List.of(all, filtered, paged)) {
+            tasks.forEach(task -> assertThat(task.get("categoryName").isNull()).isTrue());
+        }
+    }
+
+    private int deleteStatements(int taskCount, boolean reassign) throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Doomed " + user.id());
+        Long targetId = reassign ? createCategory(user, "Target " + user.id()) : null;
+        createTasks(user, categoryId, taskCount);
+
+        var request = as(user, delete("/api/category/{id}", categoryId));
+        if (targetId != null) {
+            request.param("reassignTo", targetId.toString());
+        }
+        return StatementCounter.count(() -> mockMvc.perform(request).andExpect(status().isOk()));
+    }
+
+    private static List<Long> ids(JsonNode tasks) {
+        return StreamSupport.stream(tasks.spliterator(), false)
+                .map(task -> task.get("id").asLong())
+                .toList();
+    }
+}
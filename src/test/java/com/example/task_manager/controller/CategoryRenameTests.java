@@ -0,0 +1,53 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.dto.CategoryRequest;
+import com.example.task_manager.support.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Category is second-level cached, but a rename goes through a bulk update; the
+ * cached entry must not keep serving the old name in task responses.
+ */
+class CategoryRenameTests extends ApiTestSupport {
+
+    @Test
+    void renamedCategoryIsVisibleInEveryTaskView() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Before " + user.id());
+        Long taskId = createTasks(user, categoryId, 3).get(0);
+
+        // load the category into the second-level cache through each read path
+        perform(as(user, get("/api/tasks/{id}", taskId)));
+        perform(as(user, get("/api/tasks/filter").param("categoryId", categoryId.toString())));
+        perform(as(user, get("/api/tasks")));
+
+        String renamed = "After " + user.id();
+        CategoryRequest request = new CategoryRequest();
+        request.setName(renamed);
+        request.setDescription("renamed");
+        perform(json(user, put("/api/category/{id}", categoryId), request));
+
+        assertThat(perform(as(user, get("/api/tasks/{id}", taskId))).get("categoryName").asText())
+                .isEqualTo(renamed);
+        assertThat(categoryNames(perform(as(user, get("/api/tasks/filter").param("categoryId", categoryId.toString())))))
+                .hasSize(3)
+                .containsOnly(renamed);
+        assertThat(categoryNames(perform(as(user, get("/api/tasks/paged").param("size", "10"))).get("content")))
+                .hasSize(3)
+                .containsOnly(renamed);
+        assertThat(categoryNames(perform(as(user, get("/api/tasks")))))
+                .hasSize(3)
+                .containsOnly(renamed);
+    }
+
+    private static List<String> categoryNames(JsonNode tasks) {
+        return tasks.findValuesAsText("categoryName");
+    }
+}
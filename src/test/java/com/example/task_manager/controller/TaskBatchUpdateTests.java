@@ -0,0 +1,60 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.dto.TaskBatchUpdateRequest;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.support.ApiTestSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * A stale version fails only its own item of a batch update.
+ */
+class TaskBatchUpdateTests extends ApiTestSupport {
+
+    @Test
+    void staleVersionFailsOnlyItsItem() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Work " + user.id());
+        List<Long> taskIds = createTasks(user, categoryId, 3);
+        long current = versionOf(user, taskIds.get(0));
+        long stale = versionOf(user, taskIds.get(1)) - 1;
+
+        JsonNode response = perform(json(user, put("/api/tasks/batch"), List.of(
+                update(taskIds.get(0), categoryId, current),
+                update(taskIds.get(1), categoryId, stale),
+                update(taskIds.get(2), categoryId, null))));
+
+        assertThat(response.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(response.get("failed").asInt()).isEqualTo(1);
+        JsonNode conflict = response.get("items").get(1);
+        assertThat(conflict.get("success").asBoolean()).isFalse();
+        assertThat(conflict.get("error").asText()).contains("modified concurrently");
+
+        JsonNode updated = perform(as(user, get("/api/tasks/{id}", taskIds.get(0))));
+        assertThat(updated.get("title").asText()).isEqualTo("batch");
+        assertThat(updated.get("version").asLong()).isEqualTo(current + 1);
+        assertThat(perform(as(user, get("/api/tasks/{id}", taskIds.get(1)))).get("title").asText())
+                .isNotEqualTo("batch");
+    }
+
+    private long versionOf(TestUser user, Long taskId) throws Exception {
+        return perform(as(user, get("/api/tasks/{id}", taskId))).get("version").asLong();
+    }
+
+    private static TaskBatchUpdateRequest update(Long id, Long categoryId, Long version) {
+        TaskBatchUpdateRequest request = new TaskBatchUpdateRequest();
+        request.setId(id);
+        request.setTitle("batch");
+        request.setDescription("batch");
+        request.setStatus(Status.DONE);
+        request.setCategoryId(categoryId);
+        request.setVersion(version);
+        return request;
+    }
+}
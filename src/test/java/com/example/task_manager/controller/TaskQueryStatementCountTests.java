@@ -0,0 +1,42 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.support.ApiTestSupport;
+import com.example.task_manager.support.StatementCounter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The read endpoints must issue a fixed number of statements however many tasks
+ * the caller owns; a count that grows with the result size is an N+1.
+ */
+class TaskQueryStatementCountTests extends ApiTestSupport {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/tasks",
+            "/api/tasks/filter?status=TODO",
+            "/api/tasks/filter/paged?size=100",
+            "/api/tasks/paged?size=100",
+            "/api/tasks/cursor?size=100",
+            "/api/tasks/summary"
+    })
+    void statementCountDoesNotGrowWithTaskCount(String url) throws Exception {
+        int few = statementsFor(url, 2);
+        int many = statementsFor(url, 40);
+
+        assertThat(many).isEqualTo(few);
+        assertThat(many).isLessThanOrEqualTo(3);
+    }
+
+    private int statementsFor(String url, int taskCount) throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Work " + user.id());
+        createTasks(user, categoryId, taskCount);
+        // first call loads the principal and warms the second-level cache
+        perform(as(user, get(url)));
+        return StatementCounter.count(() -> perform(as(user, get(url))));
+    }
+}
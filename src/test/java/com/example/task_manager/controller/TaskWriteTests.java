@@ -0,0 +1,135 @@
+package com.example.task_manager.controller;
+
+import com.example.task_manager.dto.TaskPatchRequest;
+import com.example.task_manager.dto.TaskRequest;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.support.ApiTestSupport;
+import com.example.task_manager.support.StatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Single-task writes: the task row is changed by one statement, and the only other
+ * statements are the fixed bookkeeping (revision bump, counter upsert, audit insert).
+ */
+class TaskWriteTests extends ApiTestSupport {
+
+    @Test
+    void patchUsesFixedStatementCount() throws Exception {
+        TestUser user = createUser();
+        Long taskId = createTasks(user, createCategory(user, "Work " + user.id()), 1).get(0);
+        long version = versionOf(user, taskId);
+
+        TaskPatchRequest titleOnly = new TaskPatchRequest("renamed", null, null, null, version);
+        int titleStatements = StatementCounter.count(() -> perform(json(user, patch("/api/tasks/{id}", taskId), titleOnly)));
+
+        TaskPatchRequest statusChange = new TaskPatchRequest(null, null, Status.DONE, null, version + 1);
+        int statusStatements = StatementCounter.count(() -> perform(json(user, patch("/api/tasks/{id}", taskId), statusChange)));
+
+        // bump, update, audit
+        assertThat(titleStatements).isEqualTo(3);
+        // bump, update, counter upsert batch, audit
+        assertThat(statusStatements).isEqualTo(4);
+    }
+
+    @Test
+    void putUsesFixedStatementCount() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Work " + user.id());
+        Long otherCategoryId = createCategory(user, "Home " + user.id());
+        Long taskId = createTasks(user, categoryId, 1).get(0);
+
+        String ifMatch = "\"" + versionOf(user, taskId) + "\"";
+
+        TaskRequest replacement = replacement(otherCategoryId, null);
+        int statements = StatementCounter.count(() -> mockMvc.perform(json(user, put("/api/tasks/{id}", taskId), replacement)
+                        .header(HttpHeaders.IF_MATCH, ifMatch))
+                .andExpect(status().isOk()));
+
+        // bump, update, counter upsert batch, audit
+        assertThat(statements).isEqualTo(4);
+    }
+
+    @Test
+    void deleteUsesFixedStatementCount() throws Exception {
+        TestUser user = createUser();
+        Long taskId = createTasks(user, createCategory(user, "Work " + user.id()), 1).get(0);
+
+        int statements = StatementCounter.count(() -> mockMvc.perform(as(user, delete("/api/tasks/{id}", taskId)))
+                .andExpect(status().isOk()));
+
+        // bump, soft delete, counter upsert, audit
+        assertThat(statements).isEqualTo(4);
+    }
+
+    @Test
+    void putWithoutVersionLastWriterWins() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Work " + user.id());
+        Long taskId = createTasks(user, categoryId, 1).get(0);
+        long version = versionOf(user, taskId);
+
+        perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, version)));
+        JsonNode replaced = perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, null)));
+
+        assertThat(replaced.get("version").asLong()).isEqualTo(version + 2);
+    }
+
+    @Test
+    void putRejectsStaleVersion() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Work " + user.id());
+        Long taskId = createTasks(user, categoryId, 1).get(0);
+        long version = versionOf(user, taskId);
+
+        perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, version)));
+
+        mockMvc.perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, version)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, null))
+                        .header(HttpHeaders.IF_MATCH, "\"" + version + "\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void etagOfSingleReadIsAcceptedAsIfMatch() throws Exception {
+        TestUser user = createUser();
+        Long categoryId = createCategory(user, "Work " + user.id());
+        Long taskId = createTasks(user, categoryId, 1).get(0);
+
+        String etag = mockMvc.perform(as(user, get("/api/tasks/{id}", taskId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(as(user, get("/api/tasks/{id}", taskId)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, null))
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(json(user, put("/api/tasks/{id}", taskId), replacement(categoryId, null))
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private long versionOf(TestUser user, Long taskId) throws Exception {
+        return perform(as(user, get("/api/tasks/{id}", taskId))).get("version").asLong();
+    }
+
+    private static TaskRequest replacement(Long categoryId, Long version) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("replaced");
+        request.setDescription("replaced");
+        request.setStatus(Status.IN_PROGRESS);
+        request.setCategoryId(categoryId);
+        request.setVersion(version);
+        return request;
+    }
+}
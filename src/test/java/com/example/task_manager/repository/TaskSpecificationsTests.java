@@ -0,0 +1,176 @@
+package com.example.task_manager.repository;
+
+import com.example.task_manager.dto.TaskFilter;
+import com.example.task_manager.entity.Category;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.entity.Task;
+import com.example.task_manager.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the database-side filter against the in-memory predicate it replaced:
+ * owner, status, category and createdAt exactly as before, plus the updatedAt
+ * range and a literal, case-sensitive title prefix.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskSpecificationsTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User other;
+    private Category work;
+    private Category home;
+    private final List<Task> seeded = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        owner = saveUser();
+        other = saveUser();
+        work = saveCategory(owner, "work");
+        home = saveCategory(owner, "home");
+        Category foreign = saveCategory(other, "foreign");
+
+        String[] titles = {"100% done", "100 items", "a_b", "abc", "C:\\temp", "C:temp", "Abc", "", null};
+        Status[] statuses = Status.values();
+        for (int i = 0; i < 36; i++) {
+            seeded.add(Task.builder()
+                    .title(titles[i % titles.length])
+                    .description("seeded " + i)
+                    .status(statuses[i % statuses.length])
+                    .category(i % 4 == 0 ? home : work)
+                    .createdAt(BASE.plusDays(i))
+                    .updatedAt(BASE.plusDays(i).plusHours(i % 5))
+                    .revision(0L)
+                    .user(owner)
+                    .build());
+        }
+        for (int i = 0; i < 6; i++) {
+            seeded.add(Task.builder()
+                    .title(titles[i])
+                    .status(statuses[i % statuses.length])
+                    .category(foreign)
+                    .createdAt(BASE.plusDays(i))
+                    .updatedAt(BASE.plusDays(i))
+                    .revision(0L)
+                    .user(other)
+                    .build());
+        }
+        taskRepository.saveAll(seeded);
+    }
+
+    Stream<Arguments> filters() {
+        return Stream.of(
+                Arguments.of("no filter", (Function<Long, TaskFilter>) c -> new TaskFilter()),
+                Arguments.of("status", (Function<Long, TaskFilter>) c -> TaskFilter.builder().status(Status.values()[0]).build()),
+                Arguments.of("category", (Function<Long, TaskFilter>) c -> TaskFilter.builder().categoryId(c).build()),
+                Arguments.of("created before", (Function<Long, TaskFilter>) c -> TaskFilter.builder().createdBefore(BASE.plusDays(10)).build()),
+                Arguments.of("updated range", (Function<Long, TaskFilter>) c -> TaskFilter.builder()
+                        .updatedAfter(BASE.plusDays(5).plusHours(2))
+                        .updatedBefore(BASE.plusDays(20))
+                        .build()),
+                Arguments.of("combined", (Function<Long, TaskFilter>) c -> TaskFilter.builder()
+                        .status(Status.values()[0])
+                        .categoryId(c)
+                        .createdBefore(BASE.plusDays(30))
+                        .build()),
+                Arguments.of("percent prefix", (Function<Long, TaskFilter>) c -> TaskFilter.builder().titlePrefix("100%").build()),
+                Arguments.of("underscore prefix", (Function<Long, TaskFilter>) c -> TaskFilter.builder().titlePrefix("a_").build()),
+                Arguments.of("backslash prefix", (Function<Long, TaskFilter>) c -> TaskFilter.builder().titlePrefix("C:\\").build()),
+                Arguments.of("case-sensitive prefix", (Function<Long, TaskFilter>) c -> TaskFilter.builder().titlePrefix("ab").build()),
+                Arguments.of("blank prefix", (Function<Long, TaskFilter>) c -> TaskFilter.builder().titlePrefix(" ").build())
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void matchesInMemoryFilter(String name, Function<Long, TaskFilter> filterFor) {
+        TaskFilter filter = filterFor.apply(work.getId());
+
+        List<Long> actual = taskRepository.findAll(TaskSpecifications.forUser(owner.getId(), filter)).stream()
+                .map(Task::getId)
+                .toList();
+        List<Long> expected = seeded.stream()
+                .filter(task -> matches(task, owner, filter))
+                .map(Task::getId)
+                .toList();
+
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void neverReturnsAnotherUsersTasks() {
+        TaskFilter filter = TaskFilter.builder().categoryId(work.getId()).build();
+
+        List<Task> tasks = taskRepository.findAll(TaskSpecifications.forUser(other.getId(), filter));
+
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void escapedPrefixStillMatchesLiterally() {
+        TaskFilter filter = TaskFilter.builder().titlePrefix("100%").build();
+
+        List<String> titles = taskRepository.findAll(TaskSpecifications.forUser(owner.getId(), filter)).stream()
+                .map(Task::getTitle)
+                .distinct()
+                .toList();
+
+        assertThat(titles).containsExactly("100% done");
+    }
+
+    // the predicate TaskService applied in memory before filtering moved into the query
+    private static boolean matches(Task task, User user, TaskFilter filter) {
+        String prefix = filter.getTitlePrefix();
+        return Objects.equals(task.getUser().getId(), user.getId())
+                && (filter.getStatus() == null || task.getStatus() == filter.getStatus())
+                && (filter.getCategoryId() == null || task.getCategory().getId().equals(filter.getCategoryId()))
+                && (filter.getCreatedBefore() == null || task.getCreatedAt().isBefore(filter.getCreatedBefore()))
+                && (filter.getUpdatedAfter() == null || !task.getUpdatedAt().isBefore(filter.getUpdatedAfter()))
+                && (filter.getUpdatedBefore() == null || task.getUpdatedAt().isBefore(filter.getUpdatedBefore()))
+                && (prefix == null || prefix.isBlank() || (task.getTitle() != null && task.getTitle().startsWith(prefix)));
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .firstName("Spec")
+                .lastName("User")
+                .email("spec-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .build());
+    }
+
+    private Category saveCategory(User user, String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name + "-" + UUID.randomUUID())
+                .user(user)
+                .build());
+    }
+}
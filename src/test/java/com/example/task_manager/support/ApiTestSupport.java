@@ -0,0 +1,109 @@
+package com.example.task_manager.support;
+
+import com.example.task_manager.dto.CategoryRequest;
+import com.example.task_manager.dto.TaskRequest;
+import com.example.task_manager.entity.Role;
+import com.example.task_manager.entity.Status;
+import com.example.task_manager.entity.User;
+import com.example.task_manager.repository.UserRepository;
+import com.example.task_manager.service.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base for the Postgres-backed API tests. Every test works on its own freshly
+ * created user, so tests do not need to clean up after each other.
+ */
+@SpringBootTest(properties = {
+        "rate-limit.user.capacity=1000000",
+        "rate-limit.user.refill-per-second=1000000"
+})
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+public abstract class ApiTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    protected record TestUser(Long id, String email, String token) {
+    }
+
+    protected TestUser createUser() {
+        User user = userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email("test-" + UUID.randomUUID() + "@example.com")
+                .password("not-used")
+                .role(Role.USER)
+                .build());
+        return new TestUser(user.getId(), user.getEmail(), jwtService.generateToken(user));
+    }
+
+    protected MockHttpServletRequestBuilder as(TestUser user, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + user.token())
+                .accept(MediaType.APPLICATION_JSON);
+    }
+
+    protected MockHttpServletRequestBuilder json(TestUser user, MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return as(user, request)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(body));
+    }
+
+    protected JsonNode body(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    protected JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        return body(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+    }
+
+    protected Long createCategory(TestUser user, String name) throws Exception {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name);
+        request.setDescription(name + " description");
+        return perform(json(user, post("/api/category"), request)).get("id").asLong();
+    }
+
+    protected List<Long> createTasks(TestUser user, Long categoryId, int count) throws Exception {
+        List<TaskRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setTitle("Task " + i);
+            request.setDescription("Description " + i);
+            request.setStatus(i % 2 == 0 ? Status.TODO : Status.DONE);
+            request.setCategoryId(categoryId);
+            requests.add(request);
+        }
+        JsonNode items = perform(json(user, post("/api/tasks/batch"), requests)).get("items");
+        return StreamSupport.stream(items.spliterator(), false)
+                .map(item -> item.get("id").asLong())
+                .toList();
+    }
+}